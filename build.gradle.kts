@@ -15,6 +15,9 @@ plugins {
     // If you are operating in an environment where public repositories are not accessible, we recommend using a
     // virtual repository which mirrors both maven central and nexus snapshots.
     id("org.openrewrite.build.recipe-repositories") version "latest.release"
+
+    // Adds a `jmh` source set for the benchmarks under src/jmh/java; run them with `./gradlew jmh`.
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 // Set as appropriate for your organization
@@ -92,6 +95,21 @@ dependencies {
     testRuntimeOnly("org.apache.commons:commons-lang3:latest.release")
     testRuntimeOnly("org.springframework:spring-core:latest.release")
     testRuntimeOnly("org.springframework:spring-context:latest.release")
+
+    // The benchmarks parse a synthetic corpus, so they need a Java parser for the JVM they run on
+    jmhRuntimeOnly("org.openrewrite:rewrite-java-17")
+    jmhRuntimeOnly("org.openrewrite:rewrite-java-21")
+    jmhRuntimeOnly("org.openrewrite:rewrite-java-25")
+    // AssertEqualsToAssertThat resolves its template classpath from the runtime classpath
+    jmhRuntimeOnly("org.assertj:assertj-core:latest.release")
+}
+
+jmh {
+    // Report allocations per operation next to the throughput numbers
+    profilers.add("gc")
+    // Narrow the run down with e.g. `./gradlew jmh -Pjmh.includes=RecipeBenchmark`
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+    resultFormat = "JSON"
 }
 
 signing {
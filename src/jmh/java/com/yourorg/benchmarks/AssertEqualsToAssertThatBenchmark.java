@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.benchmarks;
+
+import com.yourorg.AssertEqualsToAssertThat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the recipe, which keeps its templates in the execution context to build them once per run, against building the template and resolving the
+ * assertj-core classpath again for every matching {@code assertEquals} call. The latter only rewrites the
+ * two-argument form, which is enough to show the per-call cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AssertEqualsToAssertThatBenchmark {
+    private static final MethodMatcher MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions assertEquals(..)");
+
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = SyntheticCorpus.parse(SyntheticCorpus.DEFAULT_SEED);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticCorpus.SOURCE_FILES)
+    public void templatesPerRun(Blackhole blackhole) {
+        RecipeBenchmark.run(new AssertEqualsToAssertThat(), sourceFiles, new InMemoryExecutionContext(), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticCorpus.SOURCE_FILES)
+    public void templatePerCall(Blackhole blackhole) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        JavaIsoVisitor<ExecutionContext> visitor = new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                if (!MATCHER.matches(m) || m.getArguments().size() != 2) {
+                    return m;
+                }
+                return JavaTemplate.builder("Assertions.assertThat(#{any()}).isEqualTo(#{any()})")
+                        .imports("org.assertj.core.api.Assertions")
+                        .javaParser(JavaParser.fromJavaVersion()
+                                .classpath("assertj-core"))
+                        .build()
+                        .apply(getCursor(), m.getCoordinates().replace(), m.getArguments().get(1), m.getArguments().get(0));
+            }
+        };
+        for (SourceFile sourceFile : sourceFiles) {
+            blackhole.consume(visitor.visit(sourceFile, ctx));
+        }
+    }
+}
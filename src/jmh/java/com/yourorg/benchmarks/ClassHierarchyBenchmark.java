@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.benchmarks;
+
+import com.yourorg.ClassHierarchy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a full traversal of every source file against only visiting type declarations. Every class in the
+ * {@link SyntheticCorpus} is made up of method bodies with nested lambdas and anonymous classes, which the second
+ * mode never enters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ClassHierarchyBenchmark {
+
+    @Param({"false", "true"})
+    boolean typeDeclarationsOnly;
+
+    ClassHierarchy recipe;
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = SyntheticCorpus.parse(SyntheticCorpus.DEFAULT_SEED);
+        recipe = new ClassHierarchy(typeDeclarationsOnly);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticCorpus.SOURCE_FILES)
+    public void scan(Blackhole blackhole) {
+        RecipeBenchmark.run(recipe, sourceFiles, new InMemoryExecutionContext(), blackhole);
+    }
+}
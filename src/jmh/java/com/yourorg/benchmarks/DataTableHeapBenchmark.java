@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.benchmarks;
+
+import com.yourorg.FindSpringBeans;
+import com.yourorg.TrackJavaTodos;
+import com.yourorg.TrackTodos;
+import com.yourorg.table.StringPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained by the data table rows of {@link FindSpringBeans}, {@link TrackJavaTodos} and
+ * {@link TrackTodos}, with and without the run's {@link StringPool}. Their rows hold a source path, and for the TODO
+ * recipes an element type, which without the pool are a new string for every row. The corpus is parsed once per
+ * module, as in a multi-module build, so that there are as many rows as in a larger repository.
+ * <p>
+ * The retained heap is reported as the {@code retainedBytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class DataTableHeapBenchmark {
+
+    @Param({"true", "false"})
+    boolean pooled;
+
+    @Param({"8"})
+    int modules;
+
+    List<SourceFile> sourceFiles;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = new ArrayList<>();
+        for (int module = 0; module < modules; module++) {
+            sourceFiles.addAll(SyntheticCorpus.parse(SyntheticCorpus.DEFAULT_SEED));
+        }
+    }
+
+    @Benchmark
+    public void rows(Footprint footprint, Blackhole blackhole) {
+        long before = usedHeap();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        if (!pooled) {
+            ctx.putMessage(StringPool.KEY, new StringPool() {
+                @Override
+                public String intern(String value) {
+                    return value;
+                }
+            });
+        }
+        RecipeBenchmark.run(new FindSpringBeans(), sourceFiles, ctx, blackhole);
+        RecipeBenchmark.run(new TrackJavaTodos(), sourceFiles, ctx, blackhole);
+        RecipeBenchmark.run(new TrackTodos(null, null), sourceFiles, ctx, blackhole);
+        footprint.retainedBytes = usedHeap() - before;
+        blackhole.consume(ctx);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.benchmarks;
+
+import com.yourorg.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Measures how many files per second each recipe's visitor gets through on the {@link SyntheticCorpus}.
+ * The corpus is parsed once per trial, so only visiting is measured. Run with the GC profiler
+ * (the default for both the Gradle and the Maven setup) to also see allocations per file.
+ * <p>
+ * {@link NoCollectionMutation} is also run with the lists-only mutation table it started with, and with dataflow
+ * analysis run in every method rather than only in those containing a mutation, so that the per-file cost of the
+ * extra coverage and the savings of the pre-check can be read off against the default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RecipeBenchmark {
+
+    @Param({
+            "ClassHierarchy",
+            "FindSpringBeans",
+            "NoCollectionMutation",
+            "NoCollectionMutationListsOnly",
+            "NoCollectionMutationWithoutPreCheck",
+            "AssertEqualsToAssertThat",
+            "NoGuavaListsNewArrayList",
+            "BootstrapIntoApplication",
+            "EqualsAvoidsNull",
+            "SimplifyTernary"
+    })
+    String recipe;
+
+    Recipe instance;
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = SyntheticCorpus.parse(SyntheticCorpus.DEFAULT_SEED);
+        instance = recipe(recipe);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticCorpus.SOURCE_FILES)
+    public void visit(Blackhole blackhole) {
+        // A fresh context per invocation so that data table rows don't accumulate across iterations
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        if ("NoCollectionMutationWithoutPreCheck".equals(recipe)) {
+            ctx.putMessage(NoCollectionMutation.SKIP_METHODS_WITHOUT_MUTATIONS, false);
+        }
+        run(instance, sourceFiles, ctx, blackhole);
+    }
+
+    static Recipe recipe(String name) {
+        switch (name) {
+            case "ClassHierarchy":
+                return new ClassHierarchy(null);
+            case "FindSpringBeans":
+                return new FindSpringBeans();
+            case "NoCollectionMutation":
+            case "NoCollectionMutationWithoutPreCheck":
+                return new NoCollectionMutation(null, null);
+            case "NoCollectionMutationListsOnly":
+                // The table before it covered sets, maps and views, to measure what the extra coverage costs per file
+                return new NoCollectionMutation(Arrays.asList(
+                        "java.util.List add", "java.util.List addAll", "java.util.List clear", "java.util.List remove",
+                        "java.util.List removeAll", "java.util.List set", "java.util.List sort"), emptyList());
+            case "AssertEqualsToAssertThat":
+                return new AssertEqualsToAssertThat();
+            case "NoGuavaListsNewArrayList":
+                return new NoGuavaListsNewArrayList();
+            case "BootstrapIntoApplication":
+                return new BootstrapIntoApplication(false);
+            case "EqualsAvoidsNull":
+                return new EqualsAvoidsNullRecipe();
+            case "SimplifyTernary":
+                return new SimplifyTernaryRecipes();
+            default:
+                throw new IllegalArgumentException("Unknown recipe " + name);
+        }
+    }
+
+    /**
+     * Run a single cycle of the recipe over the source files, including the scanning and generating phases of a
+     * {@link ScanningRecipe}, without the bookkeeping of a full recipe run. Like a real run, it asks the recipe for a
+     * new visitor for every source file.
+     */
+    static void run(Recipe recipe, List<SourceFile> sourceFiles, ExecutionContext ctx, Blackhole blackhole) {
+        if (recipe instanceof ScanningRecipe) {
+            runScanning((ScanningRecipe<?>) recipe, sourceFiles, ctx, blackhole);
+            return;
+        }
+        // Refaster classes with nested templates generate a composite recipe
+        for (Recipe r : recipe.getRecipeList()) {
+            run(r, sourceFiles, ctx, blackhole);
+        }
+        for (SourceFile sourceFile : sourceFiles) {
+            // A new visitor for every file, as in a real recipe run, so that nothing is reused that wouldn't be there
+            TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
+            if (visitor.isAcceptable(sourceFile, ctx)) {
+                blackhole.consume(visitor.visit(sourceFile, ctx));
+            }
+        }
+    }
+
+    private static <T> void runScanning(ScanningRecipe<T> recipe, List<SourceFile> sourceFiles, ExecutionContext ctx, Blackhole blackhole) {
+        T acc = recipe.getInitialValue(ctx);
+        for (SourceFile sourceFile : sourceFiles) {
+            TreeVisitor<?, ExecutionContext> scanner = recipe.getScanner(acc);
+            if (scanner.isAcceptable(sourceFile, ctx)) {
+                scanner.visit(sourceFile, ctx);
+            }
+        }
+        blackhole.consume(recipe.generate(acc, ctx));
+        for (SourceFile sourceFile : sourceFiles) {
+            TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor(acc);
+            if (visitor.isAcceptable(sourceFile, ctx)) {
+                blackhole.consume(visitor.visit(sourceFile, ctx));
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.benchmarks;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Generates a deterministic corpus of Java, YAML and XML sources that exercises every recipe in {@code com.yourorg}.
+ * The same seed always produces byte-for-byte identical sources, so benchmark results are comparable between commits.
+ * <p>
+ * The types the recipes look for (JUnit's {@code Assertions}, Guava's {@code Lists}, {@code org.openrewrite.Tree},
+ * Spring's {@code @Bean}) are provided as small stubs that are parsed alongside the corpus, so that type attribution
+ * does not depend on what happens to be on the benchmark classpath.
+ * <p>
+ * Run {@link #main(String[])} to write the corpus to disk, e.g. to inspect it or to feed it to another tool.
+ */
+public final class SyntheticCorpus {
+    public static final long DEFAULT_SEED = 0x5EEDL;
+    public static final int JAVA_FILES = 200;
+    public static final int MODULES = 25;
+
+    /**
+     * The number of source files returned by {@link #parse(long)}, excluding stubs.
+     */
+    public static final int SOURCE_FILES = JAVA_FILES + 3 * MODULES;
+
+    private static final String[] STUBS = {
+            "package org.junit.jupiter.api;\n" +
+            "public class Assertions {\n" +
+            "    public static void assertEquals(Object expected, Object actual) {}\n" +
+            "    public static void assertEquals(Object expected, Object actual, String message) {}\n" +
+            "}\n",
+            "package com.google.common.collect;\n" +
+            "import java.util.ArrayList;\n" +
+            "public class Lists {\n" +
+            "    public static <E> ArrayList<E> newArrayList() { return new ArrayList<>(); }\n" +
+            "    public static <E> ArrayList<E> newArrayList(Iterable<? extends E> elements) { return new ArrayList<>(); }\n" +
+            "    public static <E> ArrayList<E> newArrayListWithCapacity(int initialArraySize) { return new ArrayList<>(); }\n" +
+            "}\n",
+            "package org.openrewrite;\n" +
+            "public interface Tree {}\n",
+            "package org.springframework.context.annotation;\n" +
+            "public @interface Bean { String[] name() default {}; }\n",
+            "package corpus;\n" +
+            "import java.util.List;\n" +
+            "import java.util.Map;\n" +
+            "import java.util.Set;\n" +
+            "public interface Node extends org.openrewrite.Tree {\n" +
+            "    List<Node> getChildren();\n" +
+            "    List<String> getNames();\n" +
+            "    Set<String> getTags();\n" +
+            "    Map<String, Node> getIndex();\n" +
+            "}\n"
+    };
+
+    private SyntheticCorpus() {
+    }
+
+    /**
+     * Parse the corpus. The stub sources are parsed for type attribution but not returned.
+     */
+    public static List<SourceFile> parse(long seed) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<String> java = new ArrayList<>(Arrays.asList(STUBS));
+        java.addAll(javaSources(seed));
+        List<SourceFile> sourceFiles = new ArrayList<>(JavaParser.fromJavaVersion().build()
+                .parse(ctx, java.toArray(new String[0]))
+                .skip(STUBS.length)
+                .collect(toList()));
+
+        // A source set has a random id, so it is built once per module for the resources of a module to share it
+        Map<String, JavaSourceSet> sourceSets = new HashMap<>();
+        YamlParser yamlParser = YamlParser.builder().build();
+        for (Resource source : yamlSources(seed)) {
+            JavaSourceSet main = sourceSets.computeIfAbsent(source.module, module -> JavaSourceSet.build(module, emptyList()));
+            yamlParser.parse(ctx, source.text)
+                    .map(it -> (SourceFile) it.withSourcePath(source.path).withMarkers(it.getMarkers().add(main)))
+                    .forEach(sourceFiles::add);
+        }
+
+        XmlParser xmlParser = XmlParser.builder().build();
+        for (Resource source : xmlSources(seed)) {
+            xmlParser.parse(ctx, source.text)
+                    .map(it -> (SourceFile) it.withSourcePath(source.path))
+                    .forEach(sourceFiles::add);
+        }
+        return sourceFiles;
+    }
+
+    public static List<String> javaSources(long seed) {
+        Random random = new Random(seed);
+        List<String> sources = new ArrayList<>(JAVA_FILES);
+        for (int i = 0; i < JAVA_FILES; i++) {
+            sources.add(javaSource(i, random));
+        }
+        return sources;
+    }
+
+    private static String javaSource(int i, Random random) {
+        StringBuilder s = new StringBuilder();
+        s.append("package corpus.p").append(i % 10).append(";\n\n");
+        s.append("import com.google.common.collect.Lists;\n");
+        s.append("import corpus.Node;\n");
+        s.append("import org.springframework.context.annotation.Bean;\n");
+        s.append("import java.util.ArrayList;\n");
+        s.append("import java.util.List;\n");
+        s.append("import java.util.function.Supplier;\n\n");
+        s.append("import static org.junit.jupiter.api.Assertions.assertEquals;\n\n");
+
+        // Extend a previously generated class so the hierarchy gets some depth
+        s.append("public class Type").append(i);
+        if (i > 0 && random.nextInt(3) > 0) {
+            int parent = random.nextInt(i);
+            s.append(" extends corpus.p").append(parent % 10).append(".Type").append(parent);
+        }
+        if (random.nextBoolean()) {
+            s.append(" implements java.io.Serializable");
+        }
+        s.append(" {\n");
+
+        int methods = 4 + random.nextInt(8);
+        for (int m = 0; m < methods; m++) {
+            // Most comments are not TODOs, like in real code
+            switch (random.nextInt(8)) {
+                case 0:
+                    s.append("    // TODO: Revisit method ").append(m).append('\n');
+                    break;
+                case 1:
+                    s.append("    /* Regular comment\n     * spanning lines */\n");
+                    break;
+                case 2:
+                    s.append("    // Regular comment about method ").append(m).append('\n');
+                    break;
+                default:
+                    break;
+            }
+            switch (random.nextInt(6)) {
+                case 0:
+                    s.append("    void assertions").append(m).append("(String actual, int n) {\n");
+                    s.append("        assertEquals(\"expected\", actual);\n");
+                    s.append("        assertEquals(").append(m).append(", n, \"n is ").append(m).append("\");\n");
+                    s.append("    }\n");
+                    break;
+                case 1:
+                    s.append("    List<String> guava").append(m).append("(Iterable<String> source) {\n");
+                    s.append("        // Copy the source\n");
+                    s.append("        List<String> a = Lists.newArrayList();\n");
+                    s.append("        List<String> b = Lists.newArrayListWithCapacity(").append(m).append(");\n");
+                    s.append("        List<String> c = Lists.newArrayList(source);\n");
+                    s.append("        a.addAll(b);\n");
+                    s.append("        return c;\n");
+                    s.append("    }\n");
+                    break;
+                case 2:
+                    s.append("    Node mutate").append(m).append("(Node node) {\n");
+                    s.append("        node.getNames().isEmpty();\n");
+                    s.append("        List<Node> children = node.getChildren();\n");
+                    s.append("        if (!children.isEmpty()) {\n");
+                    s.append("            children.remove(0);\n");
+                    s.append("        }\n");
+                    s.append("        new ArrayList<>(node.getNames()).clear();\n");
+                    s.append("        node.getTags().add(\"tag\");\n");
+                    s.append("        for (String key : node.getIndex().keySet()) {\n");
+                    s.append("            key.length();\n");
+                    s.append("        }\n");
+                    s.append("        return node;\n");
+                    s.append("    }\n");
+                    break;
+                case 3:
+                    s.append("    @Bean");
+                    if (random.nextBoolean()) {
+                        s.append("(name = \"bean").append(i).append('_').append(m).append("\")");
+                    }
+                    s.append("\n    Object bean").append(m).append("() {\n");
+                    s.append("        return new Object();\n");
+                    s.append("    }\n");
+                    break;
+                case 4:
+                    s.append("    boolean refaster").append(m).append("(String s, boolean flag) {\n");
+                    s.append("        boolean a = s.equals(\"literal").append(m).append("\");\n");
+                    s.append("        boolean b = s != null && s.equals(\"other\");\n");
+                    s.append("        boolean c = flag ? true : false;\n");
+                    s.append("        return a && b && (c ? false : true);\n");
+                    s.append("    }\n");
+                    break;
+                default:
+                    // Deeply nested lambdas and anonymous classes to stress cursor-walking recipes
+                    s.append("    Supplier<Supplier<Object>> nested").append(m).append("(Node node) {\n");
+                    s.append("        return () -> () -> new Object() {\n");
+                    s.append("            @Override\n");
+                    s.append("            public String toString() {\n");
+                    s.append("                Supplier<Integer> size = () -> node.getChildren().size();\n");
+                    s.append("                return String.valueOf(size.get());\n");
+                    s.append("            }\n");
+                    s.append("        };\n");
+                    s.append("    }\n");
+                    break;
+            }
+        }
+        s.append("}\n");
+        return s.toString();
+    }
+
+    public static class Resource {
+        public final String module;
+        public final Path path;
+        public final String text;
+
+        Resource(String module, Path path, String text) {
+            this.module = module;
+            this.path = path;
+            this.text = text;
+        }
+    }
+
+    /**
+     * One {@code bootstrap.yml} and one {@code application.yml} per module.
+     */
+    public static List<Resource> yamlSources(long seed) {
+        Random random = new Random(seed);
+        List<Resource> sources = new ArrayList<>(2 * MODULES);
+        for (int i = 0; i < MODULES; i++) {
+            String module = "module" + i;
+            StringBuilder bootstrap = new StringBuilder();
+            bootstrap.append("# Bootstrap configuration of ").append(module).append('\n');
+            bootstrap.append("spring:\n");
+            bootstrap.append("  application:\n");
+            bootstrap.append("    name: \"").append(module).append("\"\n");
+            bootstrap.append("  cloud:\n");
+            bootstrap.append("    config:\n");
+            bootstrap.append("      uri: \"http://config-").append(random.nextInt(100)).append(":8888\"\n");
+            int properties = 5 + random.nextInt(20);
+            for (int p = 0; p < properties; p++) {
+                if (random.nextInt(5) == 0) {
+                    bootstrap.append("      # TODO: Check property").append(p).append('\n');
+                }
+                bootstrap.append("      property").append(p).append(": ").append(random.nextInt()).append('\n');
+            }
+            sources.add(new Resource(module, Paths.get(module, "src/main/resources/bootstrap.yml"), bootstrap.toString()));
+
+            StringBuilder application = new StringBuilder();
+            application.append("server:\n");
+            application.append("  port: ").append(8000 + i).append('\n');
+            application.append("spring:\n");
+            application.append("  main:\n");
+            application.append("    banner-mode: \"off\"\n");
+            sources.add(new Resource(module, Paths.get(module, "src/main/resources/application.yml"), application.toString()));
+        }
+        return sources;
+    }
+
+    /**
+     * One {@code pom.xml} per module.
+     */
+    public static List<Resource> xmlSources(long seed) {
+        Random random = new Random(seed);
+        List<Resource> sources = new ArrayList<>(MODULES);
+        for (int i = 0; i < MODULES; i++) {
+            String module = "module" + i;
+            StringBuilder pom = new StringBuilder();
+            pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            pom.append("<!-- Generated for ").append(module).append(" -->\n");
+            pom.append("<project>\n");
+            pom.append("    <modelVersion>4.0.0</modelVersion>\n");
+            pom.append("    <groupId>corpus</groupId>\n");
+            pom.append("    <artifactId>").append(module).append("</artifactId>\n");
+            pom.append("    <dependencies>\n");
+            int dependencies = 3 + random.nextInt(15);
+            for (int d = 0; d < dependencies; d++) {
+                switch (random.nextInt(4)) {
+                    case 0:
+                        pom.append("        <!-- TODO: Upgrade dependency").append(d).append(" -->\n");
+                        break;
+                    case 1:
+                        pom.append("        <!-- Needed at runtime -->\n");
+                        break;
+                    default:
+                        break;
+                }
+                pom.append("        <dependency>\n");
+                pom.append("            <groupId>corpus</groupId>\n");
+                pom.append("            <artifactId>dependency").append(d).append("</artifactId>\n");
+                pom.append("            <version>1.").append(random.nextInt(20)).append("</version>\n");
+                pom.append("        </dependency>\n");
+            }
+            pom.append("    </dependencies>\n");
+            pom.append("</project>\n");
+            sources.add(new Resource(module, Paths.get(module, "pom.xml"), pom.toString()));
+        }
+        return sources;
+    }
+
+    /**
+     * Write the corpus to the given directory, which defaults to {@code build/corpus}.
+     * An optional second argument overrides the seed.
+     */
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : "build/corpus");
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        List<String> java = javaSources(seed);
+        for (int i = 0; i < java.size(); i++) {
+            write(root.resolve("src/main/java/corpus/p" + (i % 10) + "/Type" + i + ".java"), java.get(i));
+        }
+        for (int i = 0; i < STUBS.length; i++) {
+            write(root.resolve("stubs/Stub" + i + ".java"), STUBS[i]);
+        }
+        for (Resource source : yamlSources(seed)) {
+            write(root.resolve(source.path), source.text);
+        }
+        for (Resource source : xmlSources(seed)) {
+            write(root.resolve(source.path), source.text);
+        }
+    }
+
+    private static void write(Path path, String text) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.benchmarks;
+
+import com.yourorg.trait.TodoComment;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.*;
+import org.openrewrite.java.tree.Comment;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TextComment;
+import org.openrewrite.trait.SimpleTraitMatcher;
+import org.openrewrite.trait.VisitFunction2;
+import org.openrewrite.xml.tree.Xml;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TodoComment.Matcher} against the same matcher testing every element of a file, and against a matcher
+ * that lower cases every comment and searches it for "todo", on the Java, YAML and XML files of the
+ * {@link SyntheticCorpus} separately. Each invocation visits every file of the language once. Run with the GC profiler to see the difference in allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TodoCommentBenchmark {
+
+    @Param({"java", "yaml", "xml"})
+    String language;
+
+    @Param({"scan", "everyElement", "lowerCase"})
+    String matcher;
+
+    List<SourceFile> sourceFiles;
+    TreeVisitor<? extends Tree, Blackhole> visitor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = new ArrayList<>();
+        for (SourceFile sourceFile : SyntheticCorpus.parse(SyntheticCorpus.DEFAULT_SEED)) {
+            if ("java".equals(language) && sourceFile instanceof J ||
+                "yaml".equals(language) && sourceFile instanceof Yaml ||
+                "xml".equals(language) && sourceFile instanceof Xml) {
+                sourceFiles.add(sourceFile);
+            }
+        }
+        SimpleTraitMatcher<TodoComment> m = "scan".equals(matcher) ? new TodoComment.Matcher() :
+                "everyElement".equals(matcher) ? new EveryElementMatcher() :
+                        new LowerCaseMatcher();
+        visitor = m.asVisitor((todo, blackhole) -> {
+            blackhole.consume(todo.getTodos());
+            return todo.getTree();
+        });
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        for (SourceFile sourceFile : sourceFiles) {
+            blackhole.consume(visitor.visit(sourceFile, blackhole));
+        }
+    }
+
+    /**
+     * The same comment scan, but tested on every element the way other trait matchers are.
+     */
+    static class EveryElementMatcher extends TodoComment.Matcher {
+        @Override
+        public <P> TreeVisitor<? extends Tree, P> asVisitor(VisitFunction2<TodoComment, P> visitor) {
+            return new SimpleTraitMatcher<TodoComment>() {
+                @Override
+                protected @Nullable TodoComment test(Cursor cursor) {
+                    return EveryElementMatcher.this.test(cursor);
+                }
+            }.asVisitor(visitor);
+        }
+    }
+
+    /**
+     * What the matcher would look like written the obvious way, allocating a lower case copy of every comment.
+     */
+    static class LowerCaseMatcher extends SimpleTraitMatcher<TodoComment> {
+        @Override
+        protected @Nullable TodoComment test(Cursor cursor) {
+            Object v = cursor.getValue();
+            List<String> todos = new ArrayList<>();
+            if (v instanceof J) {
+                for (Comment comment : ((J) v).getPrefix().getComments()) {
+                    if (comment instanceof TextComment) {
+                        add(todos, ((TextComment) comment).getText());
+                    }
+                }
+            } else if (v instanceof Yaml) {
+                for (String line : ((Yaml) v).getPrefix().split("\n")) {
+                    if (line.trim().startsWith("#")) {
+                        add(todos, line.trim().substring(1));
+                    }
+                }
+            } else if (v instanceof Xml.Prolog) {
+                for (Xml misc : ((Xml.Prolog) v).getMisc()) {
+                    if (misc instanceof Xml.Comment) {
+                        add(todos, ((Xml.Comment) misc).getText());
+                    }
+                }
+            } else if (v instanceof Xml.Tag && ((Xml.Tag) v).getContent() != null) {
+                //noinspection DataFlowIssue
+                for (Xml content : ((Xml.Tag) v).getContent()) {
+                    if (content instanceof Xml.Comment) {
+                        add(todos, ((Xml.Comment) content).getText());
+                    }
+                }
+            }
+            return todos.isEmpty() ? null : new TodoComment(cursor, todos);
+        }
+
+        private static void add(List<String> todos, String text) {
+            if (text.toLowerCase(Locale.ROOT).contains("todo")) {
+                todos.add(text.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.benchmarks;
+
+import com.yourorg.TrackJavaTodos;
+import com.yourorg.table.TodoCommentsReport;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Comment;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.java.tree.TextComment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TrackJavaTodos}, which passes over every space without comments without looking at it, against
+ * the same recipe rendering every space with {@link Space#toString()} and searching that for TODO. Only the Java
+ * files of the {@link SyntheticCorpus} are visited, where most spaces are a single blank or line break.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TrackJavaTodosBenchmark {
+
+    @Param({"comments", "toString"})
+    String space;
+
+    Recipe recipe;
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = new ArrayList<>();
+        for (SourceFile sourceFile : SyntheticCorpus.parse(SyntheticCorpus.DEFAULT_SEED)) {
+            if (sourceFile instanceof J) {
+                sourceFiles.add(sourceFile);
+            }
+        }
+        recipe = "comments".equals(space) ? new TrackJavaTodos() : new ToStringTrackJavaTodos();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticCorpus.JAVA_FILES)
+    public void visit(Blackhole blackhole) {
+        RecipeBenchmark.run(recipe, sourceFiles, new InMemoryExecutionContext(), blackhole);
+    }
+
+    /**
+     * What the recipe would look like written the obvious way, turning every space into a string to search it.
+     */
+    static class ToStringTrackJavaTodos extends Recipe {
+        final transient TodoCommentsReport todoCommentsTable = new TodoCommentsReport(this);
+
+        @Override
+        public String getDisplayName() {
+            return "Export TODOs from Java comments";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Export TODOs from Java source comments into a data table.";
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new JavaIsoVisitor<ExecutionContext>() {
+                @Override
+                public Space visitSpace(@Nullable Space space, Space.Location loc, ExecutionContext ctx) {
+                    if (space != null && space.toString().contains("TODO")) {
+                        for (Comment comment : space.getComments()) {
+                            if (comment instanceof TextComment && ((TextComment) comment).getText().contains("TODO")) {
+                                todoCommentsTable.insertRow(ctx, new TodoCommentsReport.Row(
+                                        getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                                        ((TextComment) comment).getText().trim(),
+                                        getCursor().getValue().getClass().toString()));
+                            }
+                        }
+                    }
+                    return super.visitSpace(space, loc, ctx);
+                }
+            };
+        }
+    }
+}
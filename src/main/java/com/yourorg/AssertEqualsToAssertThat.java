@@ -40,6 +40,33 @@ public class AssertEqualsToAssertThat extends Recipe {
 
     private static final MethodMatcher MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions assertEquals(..)");
 
+    /**
+     * Resolving the assertj-core classpath is expensive, and a new visitor is created for every source file, so the
+     * templates are kept in the execution context and built once per recipe run, on the first matching assertion.
+     */
+    private static class Templates {
+        static final String KEY = "com.yourorg.AssertEqualsToAssertThat.Templates";
+
+        final JavaTemplate isEqualTo;
+        final JavaTemplate asIsEqualTo;
+
+        Templates() {
+            JavaParser.Builder<?, ?> parser = JavaParser.fromJavaVersion().classpath("assertj-core");
+            isEqualTo = JavaTemplate.builder("Assertions.assertThat(#{any()}).isEqualTo(#{any()})")
+                    .imports("org.assertj.core.api.Assertions")
+                    .javaParser(parser)
+                    .build();
+            asIsEqualTo = JavaTemplate.builder("Assertions.assertThat(#{any()}).as(#{any()}).isEqualTo(#{any()})")
+                    .imports("org.assertj.core.api.Assertions")
+                    .javaParser(parser)
+                    .build();
+        }
+
+        static Templates of(ExecutionContext ctx) {
+            return ctx.computeMessageIfAbsent(KEY, k -> new Templates());
+        }
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(new UsesType<>("org.junit.jupiter.api.Assertions", null),
@@ -57,23 +84,13 @@ public class AssertEqualsToAssertThat extends Recipe {
                             Expression expected = arguments.get(0);
                             Expression actual = arguments.get(1);
 
-                            m = JavaTemplate.builder("Assertions.assertThat(#{any()}).isEqualTo(#{any()})")
-                                    .imports("org.assertj.core.api.Assertions")
-                                    .javaParser(JavaParser.fromJavaVersion()
-                                            .classpath("assertj-core"))
-                                    .build()
-                                    .apply(getCursor(), m.getCoordinates().replace(), actual, expected);
+                            m = Templates.of(ctx).isEqualTo.apply(getCursor(), m.getCoordinates().replace(), actual, expected);
                         } else if (arguments.size() == 3) {
                             Expression expected = arguments.get(0);
                             Expression actual = arguments.get(1);
                             Expression description = arguments.get(2);
 
-                            m = JavaTemplate.builder("Assertions.assertThat(#{any()}).as(#{any()}).isEqualTo(#{any()})")
-                                    .imports("org.assertj.core.api.Assertions")
-                                    .javaParser(JavaParser.fromJavaVersion()
-                                            .classpath("assertj-core"))
-                                    .build()
-                                    .apply(getCursor(), m.getCoordinates().replace(), actual, description, expected);
+                            m = Templates.of(ctx).asIsEqualTo.apply(getCursor(), m.getCoordinates().replace(), actual, description, expected);
                         }
                         return m;
                     }
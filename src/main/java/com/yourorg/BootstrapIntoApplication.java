@@ -6,10 +6,10 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.yaml.MergeYaml;
-import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.YamlParser;
 import org.openrewrite.yaml.tree.Yaml;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 
@@ -23,7 +23,7 @@ import static java.util.stream.Collectors.toList;
  * BootstrapIntoApplication demonstrates various useful techniques:
  * - Copying information from one file into another
  * - Using markers like JavaSourceSet to operate correctly in single-module and multi-module projects
- * - Organizing the logic into multiple visitors to keep separate concerns separate
+ * - Classifying source files by path up front, so that files the recipe doesn't care about cost next to nothing
  * - Using other recipes, in this case MergeYaml, as building blocks
  */
 @Value
@@ -52,15 +52,25 @@ public class BootstrapIntoApplication extends ScanningRecipe<BootstrapIntoApplic
 
         /**
          * Keep track of the bootstrap.yml in each source set where they appear.
-         * If there were many/large files caching whole LSTs here could cause memory pressure
+         * Only the printed text is kept rather than the whole LST, so that the memory retained until the edit phase
+         * is proportional to the size of the YAML rather than to its object graph.
          */
-        Map<JavaSourceSet, Yaml.Documents> sourceSetToBootstrapYaml = new HashMap<>();
+        Map<JavaSourceSet, BootstrapYaml> sourceSetToBootstrapYaml = new HashMap<>();
         /**
          * Keep track of which source sets already have an application.yml
          */
         Set<JavaSourceSet> sourceSetsWithExistingApplicationYaml = new HashSet<>();
     }
 
+    /**
+     * The location and printed contents of a bootstrap.yml, which is all the edit phase needs of it.
+     */
+    @Value
+    static class BootstrapYaml {
+        Path sourcePath;
+        String yaml;
+    }
+
     @Override
     public Accumulator getInitialValue(ExecutionContext ctx) {
         return new Accumulator();
@@ -71,10 +81,18 @@ public class BootstrapIntoApplication extends ScanningRecipe<BootstrapIntoApplic
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                // When there are multiple concerns to juggle it can often be easier to maintain several
-                // individual, specific visitors rather than one sprawling, general visitor
-                new BootstrapScanner(acc).visit(tree, ctx);
-                new ApplicationScanner(acc).visit(tree, ctx);
+                // Classify each source file by its path up front. Most source files are neither a bootstrap.yml nor
+                // an application.yml, and they pass straight through without allocating anything
+                if (!(tree instanceof Yaml.Documents)) {
+                    return tree;
+                }
+                Yaml.Documents documents = (Yaml.Documents) tree;
+                String sourcePath = documents.getSourcePath().toString();
+                if (sourcePath.endsWith("bootstrap.yml")) {
+                    scanBootstrap(documents, acc);
+                } else if (sourcePath.endsWith("application.yml")) {
+                    scanApplication(documents, acc);
+                }
 
                 // Note the lack of calls to super.visit*() methods throughout this recipe
                 // It saves CPU+time to elide this traversal when it is not necessary
@@ -83,36 +101,14 @@ public class BootstrapIntoApplication extends ScanningRecipe<BootstrapIntoApplic
         };
     }
 
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    private static class BootstrapScanner extends YamlIsoVisitor<ExecutionContext> {
-        Accumulator acc;
-
-        @Override
-        public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-            if (!documents.getSourcePath().toString().endsWith("bootstrap.yml")) {
-                return documents;
-            }
-            documents.getMarkers().findFirst(JavaSourceSet.class).ifPresent(it -> acc.sourceSetToBootstrapYaml
-                    .put(it, documents));
-            return documents;
-        }
+    private static void scanBootstrap(Yaml.Documents documents, Accumulator acc) {
+        documents.getMarkers().findFirst(JavaSourceSet.class).ifPresent(it -> acc.sourceSetToBootstrapYaml
+                .put(it, new BootstrapYaml(documents.getSourcePath(), documents.printAll())));
     }
 
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    private static class ApplicationScanner extends YamlIsoVisitor<ExecutionContext> {
-        Accumulator acc;
-
-        @Override
-        public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-            if (!documents.getSourcePath().toString().endsWith("application.yml")) {
-                return documents;
-            }
-            documents.getMarkers().findFirst(JavaSourceSet.class).ifPresent(jss ->
-                    acc.sourceSetsWithExistingApplicationYaml.add(jss));
-            return documents;
-        }
+    private static void scanApplication(Yaml.Documents documents, Accumulator acc) {
+        documents.getMarkers().findFirst(JavaSourceSet.class).ifPresent(jss ->
+                acc.sourceSetsWithExistingApplicationYaml.add(jss));
     }
 
     @Override
@@ -122,13 +118,13 @@ public class BootstrapIntoApplication extends ScanningRecipe<BootstrapIntoApplic
         }
         List<SourceFile> results = new ArrayList<>();
         YamlParser yp = YamlParser.builder().build();
-        for (Map.Entry<JavaSourceSet, Yaml.Documents> javaSourceSetDocumentsEntry : acc.sourceSetToBootstrapYaml.entrySet()) {
-            JavaSourceSet jss = javaSourceSetDocumentsEntry.getKey();
-            Yaml.Documents docs = javaSourceSetDocumentsEntry.getValue();
+        for (Map.Entry<JavaSourceSet, BootstrapYaml> javaSourceSetBootstrapEntry : acc.sourceSetToBootstrapYaml.entrySet()) {
+            JavaSourceSet jss = javaSourceSetBootstrapEntry.getKey();
+            BootstrapYaml bootstrap = javaSourceSetBootstrapEntry.getValue();
             if (!acc.sourceSetsWithExistingApplicationYaml.contains(jss)) {
                 results.addAll(yp.parse("")
                         .map(it -> (SourceFile) it.withMarkers(it.getMarkers().add(jss)))
-                        .map(it -> (SourceFile) it.withSourcePath(Paths.get(docs.getSourcePath().toString().replace("bootstrap.yml", "application.yml"))))
+                        .map(it -> (SourceFile) it.withSourcePath(Paths.get(bootstrap.getSourcePath().toString().replace("bootstrap.yml", "application.yml"))))
                         .collect(toList()));
             }
         }
@@ -141,52 +137,34 @@ public class BootstrapIntoApplication extends ScanningRecipe<BootstrapIntoApplic
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                Tree t;
-                t = new BootstrapVisitor(deleteBootstrap, acc).visit(tree, ctx);
-                return new ApplicationVisitor(acc).visit(t, ctx);
+                if (!(tree instanceof Yaml.Documents)) {
+                    return tree;
+                }
+                Yaml.Documents documents = (Yaml.Documents) tree;
+                String sourcePath = documents.getSourcePath().toString();
+                if (sourcePath.endsWith("bootstrap.yml") && deleteBootstrap) {
+                    // Returning "null" is how you tell OpenRewrite to delete an individual LST element or an entire file.
+                    return null;
+                } else if (sourcePath.endsWith("application.yml")) {
+                    return mergeBootstrapIntoApplication(documents, acc, ctx);
+                }
+                return tree;
             }
         };
     }
 
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    private static class BootstrapVisitor extends YamlIsoVisitor<ExecutionContext> {
-        boolean deleteBootstrap;
-        Accumulator acc;
-
-        @Override
-        public Yaml.@Nullable Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-            if (documents.getSourcePath().toString().endsWith("bootstrap.yml") && deleteBootstrap) {
-                // Returning "null" is how you tell OpenRewrite to delete an individual LST element or an entire file.
-                //noinspection DataFlowIssue
-                return null;
-            }
+    private static Yaml.Documents mergeBootstrapIntoApplication(Yaml.Documents documents, Accumulator acc, ExecutionContext ctx) {
+        Optional<JavaSourceSet> maybeJss = documents.getMarkers().findFirst(JavaSourceSet.class);
+        if (!maybeJss.isPresent()) {
             return documents;
         }
-    }
-
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    private static class ApplicationVisitor extends YamlIsoVisitor<ExecutionContext> {
-        Accumulator acc;
-
-        @Override
-        public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-            if (!documents.getSourcePath().toString().endsWith("application.yml")) {
-                return documents;
-            }
-            Optional<JavaSourceSet> maybeJss = documents.getMarkers().findFirst(JavaSourceSet.class);
-            if (!maybeJss.isPresent()) {
-                return documents;
-            }
-            JavaSourceSet jss = maybeJss.get();
-            Yaml.Documents bootstrapYaml = acc.sourceSetToBootstrapYaml.get(jss);
-            if (bootstrapYaml == null) {
-                return documents;
-            }
-            return (Yaml.Documents) new MergeYaml("$", bootstrapYaml.printAll(), false, null, null, null, null, true)
-                    .getVisitor()
-                    .visitNonNull(documents, ctx);
+        JavaSourceSet jss = maybeJss.get();
+        BootstrapYaml bootstrapYaml = acc.sourceSetToBootstrapYaml.get(jss);
+        if (bootstrapYaml == null) {
+            return documents;
         }
+        return (Yaml.Documents) new MergeYaml("$", bootstrapYaml.getYaml(), false, null, null, null, null, true)
+                .getVisitor()
+                .visitNonNull(documents, ctx);
     }
 }
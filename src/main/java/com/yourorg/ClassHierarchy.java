@@ -15,53 +15,280 @@
  */
 package com.yourorg;
 
+import com.yourorg.table.ClassHierarchyClosureReport;
 import com.yourorg.table.ClassHierarchyReport;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
+import org.openrewrite.Option;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeTree;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+
+import static java.util.Collections.emptyList;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
-public class ClassHierarchy extends Recipe {
+public class ClassHierarchy extends ScanningRecipe<ClassHierarchy.Accumulator> {
 
     transient ClassHierarchyReport report = new ClassHierarchyReport(this);
 
+    transient ClassHierarchyClosureReport closureReport = new ClassHierarchyClosureReport(this);
+
     String displayName = "Class hierarchy";
 
-    String description = "Produces a data table showing inheritance relationships between classes.";
+    String description = "Produces data tables showing inheritance relationships between classes, " +
+            "both direct and transitive.";
+
+    @Option(displayName = "Type declarations only",
+            description = "When set to true only visit type declarations, including nested ones, and skip method bodies, " +
+                          "field initializers and other code. This is much faster on large codebases, but anonymous " +
+                          "classes and local classes, declared in a method body or an initializer, are not reported. " +
+                          "Default false.",
+            example = "true",
+            required = false)
+    @Nullable
+    Boolean typeDeclarationsOnly;
+
+    /**
+     * A compact index of the type hierarchy seen while scanning. Every type is interned to an int id once, and its
+     * direct supertypes are kept as an array of ids, so memory grows with the number of types rather than with the
+     * number of rows in the reports. Rows take their names from the index too, so that the rows of both reports
+     * share a single instance of each name.
+     */
+    public static class Accumulator {
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> names = new ArrayList<>();
+        int[][] supertypes = new int[64][];
+
+        /**
+         * Types declared in the scanned sources, as opposed to supertypes only known from type attribution.
+         */
+        final BitSet declared = new BitSet();
+
+        /**
+         * The edges reported so far, each packed into a long by {@link #edge(int, ClassHierarchyReport.Relationship, int)}.
+         */
+        final Set<Long> edges = new HashSet<>();
+
+        int intern(String fullyQualifiedName) {
+            Integer id = ids.get(fullyQualifiedName);
+            if (id == null) {
+                id = names.size();
+                ids.put(fullyQualifiedName, id);
+                names.add(fullyQualifiedName);
+                if (id == supertypes.length) {
+                    supertypes = Arrays.copyOf(supertypes, id * 2);
+                }
+            }
+            return id;
+        }
+
+        String name(JavaType.FullyQualified type) {
+            return names.get(intern(type.getFullyQualifiedName()));
+        }
+
+        /**
+         * Ids are non-negative ints and there are three relationships, so a type id in the upper 31 bits, the
+         * relationship in the next 2 and the supertype id in the lower 31 identify an edge in a single long.
+         */
+        static long edge(int classId, ClassHierarchyReport.Relationship relationship, int superId) {
+            return (long) classId << 33 | (long) relationship.ordinal() << 31 | superId;
+        }
+
+        /**
+         * @return true if the edge has not been reported before
+         */
+        boolean addEdge(JavaType.FullyQualified type, ClassHierarchyReport.Relationship relationship, JavaType.FullyQualified supertype) {
+            return edges.add(edge(intern(type.getFullyQualifiedName()), relationship, intern(supertype.getFullyQualifiedName())));
+        }
+
+        /**
+         * Index a declared type, and the supertypes it inherits from. The same type is commonly declared more than
+         * once, e.g. when it is seen again in a later cycle, or when the same class name exists in more than one
+         * module or source set, where it may have other supertypes. The supertypes of every declaration are merged,
+         * and the supertypes of a type are only followed further when it gained a supertype, so a repeated
+         * declaration stops at its first known edge.
+         */
+        void add(JavaType.FullyQualified type) {
+            declared.set(intern(type.getFullyQualifiedName()));
+            Deque<JavaType.FullyQualified> pending = new ArrayDeque<>();
+            pending.push(type);
+            while (!pending.isEmpty()) {
+                JavaType.FullyQualified next = pending.pop();
+                int id = intern(next.getFullyQualifiedName());
+                List<JavaType.FullyQualified> direct = new ArrayList<>(next.getInterfaces().size() + 1);
+                if (next.getSupertype() != null) {
+                    direct.add(next.getSupertype());
+                }
+                direct.addAll(next.getInterfaces());
+                int[] known = supertypes[id];
+                int[] merged = known == null ? new int[0] : known;
+                for (JavaType.FullyQualified supertype : direct) {
+                    int supertypeId = intern(supertype.getFullyQualifiedName());
+                    if (!contains(merged, supertypeId)) {
+                        merged = Arrays.copyOf(merged, merged.length + 1);
+                        merged[merged.length - 1] = supertypeId;
+                        pending.push(supertype);
+                    }
+                }
+                supertypes[id] = merged;
+            }
+        }
+
+        private static boolean contains(int[] ids, int id) {
+            for (int i : ids) {
+                if (i == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        boolean skipBodies = Boolean.TRUE.equals(typeDeclarationsOnly);
         return new JavaIsoVisitor<ExecutionContext>() {
 
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                if (!skipBodies) {
+                    return super.visitCompilationUnit(cu, ctx);
+                }
+                for (J.ClassDeclaration classDecl : cu.getClasses()) {
+                    visit(classDecl, ctx);
+                }
+                return cu;
+            }
+
             @Override
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-                JavaType.FullyQualified type = classDecl.getType();
-                // Capture all classes, which all extend java.lang.Object
-                if (type instanceof JavaType.Class && type.getSupertype() != null) {
-                    JavaType.FullyQualified supertype = type.getSupertype();
-                    // Capture the direct superclass
-                    report.insertRow(ctx, new ClassHierarchyReport.Row(
-                            type.getFullyQualifiedName(),
-                            ClassHierarchyReport.Relationship.EXTENDS,
-                            supertype.getFullyQualifiedName()));
-
-                    // Capture all interfaces
-                    for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
-                        report.insertRow(ctx, new ClassHierarchyReport.Row(
-                                type.getFullyQualifiedName(),
-                                ClassHierarchyReport.Relationship.IMPLEMENTS,
-                                anInterface.getFullyQualifiedName()
-                        ));
+                record(classDecl.getType(), ctx);
+                if (classDecl.getType() != null && !(classDecl.getType() instanceof JavaType.Unknown) && classDecl.getTypeParameters() != null) {
+                    for (J.TypeParameter typeParameter : classDecl.getTypeParameters()) {
+                        recordBounds(classDecl.getType(), typeParameter, ctx);
+                    }
+                }
+                if (!skipBodies) {
+                    return super.visitClassDeclaration(classDecl, ctx);
+                }
+                // Nested types are direct statements of the class body, everything else can be skipped, along with
+                // the anonymous and local classes declared in method bodies and initializers
+                for (Statement statement : classDecl.getBody().getStatements()) {
+                    if (statement instanceof J.ClassDeclaration) {
+                        visit(statement, ctx);
+                    }
+                }
+                return classDecl;
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                // The constructor of an anonymous class is declared by the anonymous class itself
+                if (newClass.getBody() != null && newClass.getMethodType() != null) {
+                    record(newClass.getMethodType().getDeclaringType(), ctx);
+                }
+                return super.visitNewClass(newClass, ctx);
+            }
+
+            /**
+             * Report the direct supertypes of a type. Classes, enums, records and anonymous classes extend their
+             * superclass and implement their interfaces, while interfaces and annotations only extend interfaces.
+             * Each edge is only reported once, however often the type is declared, but a type declared again with
+             * other supertypes, e.g. in another source set, adds its own edges.
+             */
+            private void record(@Nullable JavaType.FullyQualified type, ExecutionContext ctx) {
+                if (type == null || type instanceof JavaType.Unknown) {
+                    return;
+                }
+                acc.add(type);
+                boolean isInterface = type.getKind() == JavaType.FullyQualified.Kind.Interface ||
+                                      type.getKind() == JavaType.FullyQualified.Kind.Annotation;
+                // Capture the direct superclass, which is at least java.lang.Object
+                if (!isInterface && type.getSupertype() != null) {
+                    recordEdge(type, ClassHierarchyReport.Relationship.EXTENDS, type.getSupertype(), ctx);
+                }
+
+                // Capture all interfaces
+                for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+                    recordEdge(type, isInterface ? ClassHierarchyReport.Relationship.EXTENDS : ClassHierarchyReport.Relationship.IMPLEMENTS,
+                            anInterface, ctx);
+                }
+            }
+
+            private void recordEdge(JavaType.FullyQualified type, ClassHierarchyReport.Relationship relationship,
+                                    JavaType.FullyQualified supertype, ExecutionContext ctx) {
+                if (acc.addEdge(type, relationship, supertype)) {
+                    report.insertRow(ctx, new ClassHierarchyReport.Row(acc.name(type), relationship, acc.name(supertype)));
+                }
+            }
+
+            private void recordBounds(JavaType.FullyQualified type, J.TypeParameter typeParameter, ExecutionContext ctx) {
+                if (typeParameter.getBounds() == null) {
+                    return;
+                }
+                for (TypeTree bound : typeParameter.getBounds()) {
+                    // Bounds on other type variables, as in <U extends T>, have no class to report
+                    JavaType.FullyQualified boundType = TypeUtils.asFullyQualified(bound.getType());
+                    if (boundType != null && !(boundType instanceof JavaType.Unknown)) {
+                        // Bounds only take their name from the index, which is harmless to the closure: a type
+                        // without known supertypes is expanded once it is declared or inherited from
+                        recordEdge(type, ClassHierarchyReport.Relationship.TYPE_PARAMETER_BOUND, boundType, ctx);
                     }
                 }
-                return super.visitClassDeclaration(classDecl, ctx);
             }
         };
     }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        // Breadth first from each declared type, so each ancestor is reported once at its shortest distance.
+        // The work arrays are shared between types, marking visited types with the id of the type being expanded.
+        int size = acc.names.size();
+        int[] visitedBy = new int[size];
+        Arrays.fill(visitedBy, -1);
+        int[] queue = new int[size];
+        int[] distance = new int[size];
+        for (int id = acc.declared.nextSetBit(0); id >= 0; id = acc.declared.nextSetBit(id + 1)) {
+            String className = acc.names.get(id);
+            visitedBy[id] = id;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = id;
+            distance[id] = 0;
+            while (head < tail) {
+                int current = queue[head++];
+                int[] supertypes = acc.supertypes[current];
+                if (supertypes == null) {
+                    continue;
+                }
+                for (int supertype : supertypes) {
+                    if (visitedBy[supertype] == id) {
+                        continue;
+                    }
+                    visitedBy[supertype] = id;
+                    distance[supertype] = distance[current] + 1;
+                    queue[tail++] = supertype;
+                    closureReport.insertRow(ctx, new ClassHierarchyClosureReport.Row(
+                            className, acc.names.get(supertype), distance[supertype]));
+                }
+            }
+        }
+        return emptyList();
+    }
 }
@@ -16,6 +16,7 @@
 package com.yourorg;
 
 import com.yourorg.table.SpringBeansReport;
+import com.yourorg.table.StringPool;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
@@ -52,7 +53,8 @@ public class FindSpringBeans extends Recipe {
                             .orElseGet(() -> annotated.getCursor().getParentTreeCursor().<J.MethodDeclaration>getValue().getSimpleName());
 
                     // Insert the bean name into the SpringBeans report
-                    String sourcePath = annotated.getCursor().firstEnclosingOrThrow(JavaSourceFile.class).getSourcePath().toString();
+                    // Every bean of a source file shares one instance of its path, which saves a copy per row
+                    String sourcePath = StringPool.intern(ctx, annotated.getCursor().firstEnclosingOrThrow(JavaSourceFile.class).getSourcePath().toString());
                     beansTable.insertRow(ctx, new SpringBeansReport.Row(sourcePath, beanName));
 
                     // Return a modified LST element with an added search result marker calling out the bean name
@@ -15,7 +15,6 @@
  */
 package com.yourorg;
 
-import fj.data.Option;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
@@ -23,6 +22,7 @@ import org.openrewrite.*;
 import org.openrewrite.analysis.dataflow.DataFlowNode;
 import org.openrewrite.analysis.dataflow.DataFlowSpec;
 import org.openrewrite.analysis.dataflow.Dataflow;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
@@ -31,6 +31,10 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class NoCollectionMutation extends Recipe {
@@ -40,59 +44,308 @@ public class NoCollectionMutation extends Recipe {
                 "Adding or removing an element from a collection on an LST element is always a bug. " +
                 "This recipe uses Dataflow analysis to detect and put defensive copies around collection mutations.";
 
-    private static final MethodMatcher ADD_MATCHER = new MethodMatcher("java.util.List add(..)");
-    private static final MethodMatcher ADD_ALL_MATCHER = new MethodMatcher("java.util.List addAll(..)");
-    private static final MethodMatcher CLEAR_MATCHER = new MethodMatcher("java.util.List clear()");
-    private static final MethodMatcher REMOVE_MATCHER = new MethodMatcher("java.util.List remove(..)");
-    private static final MethodMatcher REMOVE_ALL_MATCHER = new MethodMatcher("java.util.List removeAll(..)");
-    private static final MethodMatcher REPLACE_MATCHER = new MethodMatcher("java.util.List replace(..)");
-    private static final MethodMatcher SET_MATCHER = new MethodMatcher("java.util.List set(..)");
-    private static final MethodMatcher SORT_MATCHER = new MethodMatcher("java.util.List sort(..)");
+    @Option(displayName = "Mutating methods",
+            description = "The methods that mutate the collection they are called on, each given as the declaring type " +
+                          "and the method name separated by a space. Replaces the default table, which covers the " +
+                          "mutating methods of `Collection`, `List`, `Map`, `Iterator` and `ListIterator`.",
+            example = "java.util.Deque push",
+            required = false)
+    @Nullable
+    List<String> mutatingMethods;
+
+    @Option(displayName = "View methods",
+            description = "The methods that return a view backed by the collection they are called on, given the same " +
+                          "way as the mutating methods. A view is followed to see whether it is mutated in turn, which " +
+                          "takes a second dataflow analysis. Replaces the default table, which covers `iterator`, " +
+                          "`listIterator`, `subList`, `entrySet`, `keySet` and `values`.",
+            example = "java.util.NavigableMap descendingMap",
+            required = false)
+    @Nullable
+    List<String> viewMethods;
 
     /**
-     * The "select" of a method is the receiver or target of the invocation. In the method call "aList.add(foo)" the "select" is "aList".
-     *
-     * @param cursor a stack of LST elements with parent/child relationships connecting an individual LST element to the root of the tree
-     * @return true if the cursor points to the "select" of a method invocation that is a list mutation
+     * Set this to false on the {@link ExecutionContext} to run dataflow analysis in every method, including those
+     * whose body contains no collection mutation. This is only meant for measuring what skipping those methods saves.
      */
-    private static boolean isListMutationSelect(Cursor cursor) {
-        Object parentValue = cursor.getParentTreeCursor().getValue();
-        if (!(parentValue instanceof J.MethodInvocation) ||
-                ((J.MethodInvocation) parentValue).getMethodType() == null ||
-                ((J.MethodInvocation) parentValue).getSelect() != cursor.getValue()) {
+    public static final String SKIP_METHODS_WITHOUT_MUTATIONS = "com.yourorg.NoCollectionMutation.skipMethodsWithoutMutations";
+
+    /**
+     * Methods indexed by name, each with the types declaring them. Looking a method up by name first means a sink
+     * candidate costs one map lookup, and only a name that can be a mutation pays for a type check.
+     */
+    private static class MethodTable {
+        final Map<String, List<String>> byName = new HashMap<>();
+
+        MethodTable add(String declaringType, String... names) {
+            for (String name : names) {
+                byName.computeIfAbsent(name, k -> new ArrayList<>(1)).add(declaringType);
+            }
+            return this;
+        }
+
+        /**
+         * @param methods methods given as the declaring type and the method name separated by a space
+         */
+        static MethodTable of(List<String> methods) {
+            MethodTable table = new MethodTable();
+            for (String method : methods) {
+                String[] parts = method.trim().split("\\s+");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected a declaring type and a method name separated by a space, but got '" + method + "'");
+                }
+                table.add(parts[0], parts[1]);
+            }
+            return table;
+        }
+
+        boolean declares(JavaType.@Nullable Method mt) {
+            if (mt == null) {
+                return false;
+            }
+            List<String> declaringTypes = byName.get(mt.getName());
+            if (declaringTypes == null) {
+                return false;
+            }
+            for (String declaringType : declaringTypes) {
+                if (TypeUtils.isAssignableTo(declaringType, mt.getDeclaringType())) {
+                    return true;
+                }
+            }
             return false;
         }
-        JavaType.Method mt = ((J.MethodInvocation) parentValue).getMethodType();
-        return ADD_MATCHER.matches(mt) ||
-                ADD_ALL_MATCHER.matches(mt) ||
-                CLEAR_MATCHER.matches(mt) ||
-                REMOVE_MATCHER.matches(mt) ||
-                REMOVE_ALL_MATCHER.matches(mt) ||
-                REPLACE_MATCHER.matches(mt) ||
-                SET_MATCHER.matches(mt) ||
-                SORT_MATCHER.matches(mt);
     }
 
-    private static final MethodMatcher NEW_ARRAY_LIST_MATCHER = new MethodMatcher("java.util.ArrayList <constructor>(java.util.Collection)");
+    private static final MethodTable DEFAULT_MUTATING_METHODS = new MethodTable()
+            .add("java.util.Collection", "add", "addAll", "clear", "remove", "removeAll", "removeIf", "retainAll")
+            .add("java.util.List", "replaceAll", "set", "sort")
+            .add("java.util.Map", "clear", "compute", "computeIfAbsent", "computeIfPresent", "merge",
+                    "put", "putAll", "putIfAbsent", "remove", "replace", "replaceAll")
+            .add("java.util.Iterator", "remove")
+            .add("java.util.ListIterator", "add", "set");
+
+    /**
+     * Methods returning a view backed by the collection they are called on, so that mutating the view mutates the
+     * collection.
+     */
+    private static final MethodTable DEFAULT_VIEW_METHODS = new MethodTable()
+            .add("java.util.Collection", "iterator")
+            .add("java.util.List", "listIterator", "subList")
+            .add("java.util.Map", "entrySet", "keySet", "values");
+
+    @Value
+    private static class DefensiveCopy {
+        String copyType;
+        String template;
+    }
+
+    /**
+     * The copy to wrap a collection in, indexed by the declared type of the collection. Only the types that the copy
+     * can be assigned to are listed, so that e.g. a {@code Deque} or a {@code SortedSet} is left alone rather than
+     * replaced with a copy of a type that does not compile.
+     */
+    private static final Map<String, DefensiveCopy> DEFENSIVE_COPIES = new HashMap<>();
+
+    static {
+        copies(new DefensiveCopy("java.util.LinkedHashSet", "new LinkedHashSet<>(#{any(java.util.Collection)})"),
+                "java.util.Set", "java.util.HashSet", "java.util.LinkedHashSet");
+        copies(new DefensiveCopy("java.util.LinkedHashMap", "new LinkedHashMap<>(#{any(java.util.Map)})"),
+                "java.util.Map", "java.util.HashMap", "java.util.LinkedHashMap");
+        copies(new DefensiveCopy("java.util.ArrayList", "new ArrayList<>(#{any(java.util.Collection)})"),
+                "java.util.Collection", "java.util.List", "java.util.ArrayList");
+    }
+
+    private static void copies(DefensiveCopy copy, String... collectionTypes) {
+        for (String collectionType : collectionTypes) {
+            DEFENSIVE_COPIES.put(collectionType, copy);
+        }
+    }
+
+    private static final String TEMPLATES = "com.yourorg.NoCollectionMutation.templates";
+
+    /**
+     * The template of a defensive copy, built the first time a recipe run needs it and shared through the execution
+     * context, as {@link #getVisitor()} is called for every source file.
+     */
+    private static JavaTemplate template(DefensiveCopy copy, ExecutionContext ctx) {
+        Map<DefensiveCopy, JavaTemplate> templates = ctx.computeMessageIfAbsent(TEMPLATES, k -> new ConcurrentHashMap<>());
+        return templates.computeIfAbsent(copy, c -> JavaTemplate.builder(c.getTemplate())
+                .imports(c.getCopyType())
+                .build());
+    }
+
+    private static @Nullable DefensiveCopy defensiveCopyFor(@Nullable JavaType type) {
+        JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+        return fq == null ? null : DEFENSIVE_COPIES.get(fq.getFullyQualifiedName());
+    }
+
+    /**
+     * The mutating and view methods a visitor looks for, along with the dataflow specification finding them.
+     */
+    private static class Mutations {
+        static final Mutations DEFAULT = new Mutations(DEFAULT_MUTATING_METHODS, DEFAULT_VIEW_METHODS);
+
+        final MethodTable mutatingMethods;
+        final MethodTable viewMethods;
+
+        final DataFlowSpec spec = new DataFlowSpec() {
+            @Override
+            public boolean isSource(DataFlowNode srcNode) {
+                return true;
+            }
+
+            @Override
+            public boolean isSink(DataFlowNode sinkNode) {
+                return isMutationSelect(sinkNode.getCursor());
+            }
+        };
+
+        Mutations(MethodTable mutatingMethods, MethodTable viewMethods) {
+            this.mutatingMethods = mutatingMethods;
+            this.viewMethods = viewMethods;
+        }
+
+        static Mutations of(@Nullable List<String> mutatingMethods, @Nullable List<String> viewMethods) {
+            if (mutatingMethods == null && viewMethods == null) {
+                return DEFAULT;
+            }
+            return new Mutations(
+                    mutatingMethods == null ? DEFAULT_MUTATING_METHODS : MethodTable.of(mutatingMethods),
+                    viewMethods == null ? DEFAULT_VIEW_METHODS : MethodTable.of(viewMethods));
+        }
+
+        /**
+         * The "select" of a method is the receiver or target of the invocation. In the method call "aList.add(foo)" the "select" is "aList".
+         *
+         * @param cursor a stack of LST elements with parent/child relationships connecting an individual LST element to the root of the tree
+         * @return true if the cursor points to the "select" of a method invocation that is a collection mutation, or that
+         * returns a view which is subsequently mutated
+         */
+        boolean isMutationSelect(Cursor cursor) {
+            Cursor parent = cursor.getParentTreeCursor();
+            Object parentValue = parent.getValue();
+            if (!(parentValue instanceof J.MethodInvocation) ||
+                    ((J.MethodInvocation) parentValue).getMethodType() == null ||
+                    ((J.MethodInvocation) parentValue).getSelect() != cursor.getValue()) {
+                return false;
+            }
+            JavaType.Method mt = ((J.MethodInvocation) parentValue).getMethodType();
+            if (mutatingMethods.declares(mt)) {
+                return true;
+            }
+            // e.g. `list.iterator()` followed by `it.remove()`; follow the view, which is only rarely needed
+            return viewMethods.declares(mt) && isMutated(parent);
+        }
+
+        /**
+         * @param source a cursor pointing to the expression producing the collection
+         * @return true if the collection flows into a mutation that is not guarded by a defensive copy
+         */
+        boolean isMutated(Cursor source) {
+            return Dataflow.startingAt(source).findSinks(spec).bind(sinkFlow -> {
+                        for (Cursor sink : sinkFlow.getSinkCursors()) {
+                            if (!inDefensiveCopy(sink)) {
+                                return fj.data.Option.some(sink);
+                            }
+                        }
+                        return fj.data.Option.none();
+                    })
+                    .isSome();
+        }
+
+        /**
+         * Dataflow analysis is local to the enclosing method, so when its body contains no collection mutation at all
+         * there is no sink to find and the analysis can be skipped. The answer is computed once per method declaration,
+         * the first time it is needed, and kept as a message on the method declaration's cursor so that it is discarded
+         * once the visitor leaves the method.
+         *
+         * @param cursor a stack of LST elements with parent/child relationships connecting an individual LST element to the root of the tree
+         * @return false only if the cursor is within a method whose body is known not to contain a collection mutation
+         */
+        boolean mayBeMutatedInEnclosingMethod(Cursor cursor) {
+            for (Cursor c = cursor.getParent(); c != null; c = c.getParent()) {
+                Object value = c.getValue();
+                if (value instanceof J.MethodDeclaration) {
+                    J.Block body = ((J.MethodDeclaration) value).getBody();
+                    return c.computeMessageIfAbsent(CONTAINS_MUTATION, k -> body != null && containsMutation(body));
+                }
+            }
+            // Not in a method, e.g. a field initializer; let dataflow analysis decide
+            return true;
+        }
+
+        private boolean containsMutation(J.Block body) {
+            AtomicBoolean found = new AtomicBoolean();
+            new JavaIsoVisitor<AtomicBoolean>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean found) {
+                    // Mutations through a view are found here too, as the view's own mutation is in the same body
+                    if (method.getSelect() != null && mutatingMethods.declares(method.getMethodType())) {
+                        found.set(true);
+                        return method;
+                    }
+                    return super.visitMethodInvocation(method, found);
+                }
+
+                @Override
+                public @Nullable J visit(@Nullable Tree tree, AtomicBoolean found) {
+                    // Stop descending once a mutation has been found
+                    return found.get() ? (J) tree : super.visit(tree, found);
+                }
+            }.visit(body, found);
+            return found.get();
+        }
+    }
+
+    private static final String CONTAINS_MUTATION = "containsMutation";
+
+    private static final List<MethodMatcher> COPY_CONSTRUCTORS = Arrays.asList(
+            new MethodMatcher("java.util.ArrayList <constructor>(java.util.Collection)"),
+            new MethodMatcher("java.util.LinkedList <constructor>(java.util.Collection)"),
+            new MethodMatcher("java.util.HashSet <constructor>(java.util.Collection)"),
+            new MethodMatcher("java.util.LinkedHashSet <constructor>(java.util.Collection)"),
+            new MethodMatcher("java.util.TreeSet <constructor>(java.util.Collection)"),
+            new MethodMatcher("java.util.HashMap <constructor>(java.util.Map)"),
+            new MethodMatcher("java.util.LinkedHashMap <constructor>(java.util.Map)"),
+            new MethodMatcher("java.util.TreeMap <constructor>(java.util.Map)"));
+
+    private static boolean isCopyConstructor(J.NewClass newClass) {
+        for (MethodMatcher copyConstructor : COPY_CONSTRUCTORS) {
+            if (copyConstructor.matches(newClass.getMethodType())) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     /**
+     * A defensive copy has to be part of the same expression as the element it copies, so the walk up the cursor
+     * stops at the nearest block, lambda, method or class rather than continuing to the root of the tree. This keeps
+     * the cost proportional to the depth of the expression, however deeply nested the surrounding code is.
+     *
      * @param cursor a stack of LST elements with parent/child relationships connecting an individual LST element to the root of the tree
      * @return true if the cursor points to an LST element contained within the argument list of a constructor or
      * function which creates a defensive copy as needed
      */
     private static boolean inDefensiveCopy(@Nullable Cursor cursor) {
-        if (cursor == null) {
-            return false;
+        for (Cursor c = cursor; c != null; c = c.getParent()) {
+            Object value = c.getValue();
+            if (value instanceof J.NewClass && isCopyConstructor((J.NewClass) value)) {
+                return true;
+            }
+            if (value instanceof J.Block ||
+                    value instanceof J.Lambda ||
+                    value instanceof J.MethodDeclaration ||
+                    value instanceof J.ClassDeclaration ||
+                    value instanceof SourceFile) {
+                return false;
+            }
         }
-        Object value = cursor.getValue();
-        if (value instanceof J.NewClass && NEW_ARRAY_LIST_MATCHER.matches(((J.NewClass) value).getMethodType())) {
-            return true;
-        }
-        return inDefensiveCopy(cursor.getParent());
+        return false;
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        Mutations mutations = Mutations.of(mutatingMethods, viewMethods);
         return Preconditions.check(
                 Preconditions.or(
                         new UsesType<>("org.openrewrite.Tree", true),
@@ -110,7 +363,11 @@ public class NoCollectionMutation extends Recipe {
                         }
                         JavaType.Method mt = m.getMethodType();
                         JavaType.Class declaringType = (JavaType.Class) mt.getDeclaringType();
-                        if (!TypeUtils.isAssignableTo("org.openrewrite.Tree", declaringType) || !TypeUtils.isAssignableTo("java.util.List", mt.getReturnType())) {
+                        if (!TypeUtils.isAssignableTo("org.openrewrite.Tree", declaringType)) {
+                            return m;
+                        }
+                        DefensiveCopy copy = defensiveCopyFor(mt.getReturnType());
+                        if (copy == null) {
                             return m;
                         }
 
@@ -119,34 +376,13 @@ public class NoCollectionMutation extends Recipe {
                             return m;
                         }
 
-                        boolean isMutated = Dataflow.startingAt(getCursor()).findSinks(new DataFlowSpec() {
-                                    @Override
-                                    public boolean isSource(DataFlowNode srcNode) {
-                                        return true;
-                                    }
-
-                                    @Override
-                                    public boolean isSink(DataFlowNode sinkNode) {
-                                        return isListMutationSelect(sinkNode.getCursor());
-                                    }
-                                }).bind(sinkFlow -> {
-                                    for (Cursor sink : sinkFlow.getSinkCursors()) {
-                                        if (!inDefensiveCopy(sink)) {
-                                            return Option.some(sink);
-                                        }
-                                    }
-                                    return Option.none();
-                                })
-                                .isSome();
-                        if (!isMutated) {
+                        if (ctx.getMessage(SKIP_METHODS_WITHOUT_MUTATIONS, true) && !mutations.mayBeMutatedInEnclosingMethod(getCursor()) ||
+                            !mutations.isMutated(getCursor())) {
                             return m;
                         }
 
-                        maybeAddImport("java.util.ArrayList");
-                        return JavaTemplate.builder("new ArrayList<>(#{any(java.util.List)})")
-                                .imports("java.util.ArrayList")
-                                .build()
-                                .apply(getCursor(), m.getCoordinates().replace(), m);
+                        maybeAddImport(copy.getCopyType());
+                        return template(copy, ctx).apply(getCursor(), m.getCoordinates().replace(), m);
                     }
                 });
     }
@@ -17,6 +17,7 @@ package com.yourorg;
 
 import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
@@ -27,29 +28,66 @@ import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.TreeVisitingPrinter;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BiConsumer;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class NoGuavaListsNewArrayList extends Recipe {
-    // These matchers use a syntax described on https://docs.openrewrite.org/reference/method-patterns
-    private static final MethodMatcher NEW_ARRAY_LIST = new MethodMatcher("com.google.common.collect.Lists newArrayList()");
-    private static final MethodMatcher NEW_ARRAY_LIST_CAPACITY = new MethodMatcher("com.google.common.collect.Lists newArrayListWithCapacity(int)");
-    private static final MethodMatcher NEW_ARRAY_LIST_ITERABLE = new MethodMatcher("com.google.common.collect.Lists newArrayList(java.lang.Iterable)");
+    // This matcher uses a syntax described on https://docs.openrewrite.org/reference/method-patterns
+    // A single wildcard pattern covers `newArrayList()`, `newArrayList(Iterable)` and `newArrayListWithCapacity(int)`,
+    // so files are checked once rather than once per overload
+    private static final MethodMatcher NEW_ARRAY_LIST_ANY = new MethodMatcher("com.google.common.collect.Lists newArrayList*(..)");
+
+    /**
+     * Register a {@code BiConsumer<Path, String>} under this key on the {@link ExecutionContext} to receive the
+     * printed tree of every compilation unit the recipe visits, keyed by its source path. Rendering the tree is
+     * expensive, so nothing is printed unless a sink has been registered.
+     */
+    public static final String PRINT_TREE = "com.yourorg.NoGuavaListsNewArrayList.printTree";
 
     String displayName = "Use `new ArrayList<>()` instead of Guava";
 
     String description = "Prefer the Java standard library over third-party usage of Guava in simple cases like this.";
 
+    // Java Templates are used to generate Java code easily.
+    // They use a syntax that expand Java with possible type-safe insertions points.
+    // See https://docs.openrewrite.org/concepts-and-explanations/javatemplate for full documentation
+    // getVisitor() is called for every source file, so the templates are built once per recipe run, when the first
+    // replacement needs them, and shared through the execution context.
+    private static class Templates {
+        static final String KEY = "com.yourorg.NoGuavaListsNewArrayList.Templates";
+
+        final JavaTemplate newArrayList = JavaTemplate.builder("new ArrayList<>()")
+                .imports("java.util.ArrayList")
+                .build();
+
+        // The `#{any(int)}` syntax means "insert any expression here of that type"
+        final JavaTemplate newArrayListWithCapacity = JavaTemplate.builder("new ArrayList<>(#{any(int)})")
+                .imports("java.util.ArrayList")
+                .build();
+
+        // The `#{any(java.util.Collection)}` syntax means "insert any expression here of that type"
+        final JavaTemplate newArrayListFromIterable = JavaTemplate.builder("new ArrayList<>(#{any(java.util.Collection)})")
+                .imports("java.util.ArrayList")
+                .build();
+
+        static Templates of(ExecutionContext ctx) {
+            return ctx.computeMessageIfAbsent(KEY, k -> new Templates());
+        }
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 // Any change to the AST made by the preconditions check will lead to the visitor returned by Recipe
                 // .getVisitor() being applied
                 // No changes made by the preconditions check will be kept
-                Preconditions.or(
-                        new UsesMethod<>(NEW_ARRAY_LIST),
-                        new UsesMethod<>(NEW_ARRAY_LIST_CAPACITY),
-                        new UsesMethod<>(NEW_ARRAY_LIST_ITERABLE)),
+                new UsesMethod<>(NEW_ARRAY_LIST_ANY),
 
                 // To avoid stale state persisting between cycles, getVisitor() should always return a new instance of
                 // its visitor
@@ -58,9 +96,12 @@ public class NoGuavaListsNewArrayList extends Recipe {
                     // You can remove this method if you don't need it.
                     @Override
                     public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
-                        // This is a useful debugging tool if you're ever unsure what the visitor is visiting
-                        String printed = TreeVisitingPrinter.printTree(cu);
-                        System.out.printf(printed);
+                        // This is a useful debugging tool if you're ever unsure what the visitor is visiting.
+                        // Printing renders the whole tree, so only do it when a sink was registered for it.
+                        BiConsumer<Path, String> printTree = ctx.getMessage(PRINT_TREE);
+                        if (printTree != null) {
+                            printTree.accept(cu.getSourcePath(), TreeVisitingPrinter.printTree(cu));
+                        }
 
                         // You must always delegate to the super method to ensure the visitor continues to visit deeper
                         // return cu; // this leads to a recipe that makes no changes at all
@@ -70,50 +111,48 @@ public class NoGuavaListsNewArrayList extends Recipe {
                     // Visit any method invocation, and replace matches with the new ArrayList instantiation.
                     @Override
                     public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                        if (NEW_ARRAY_LIST.matches(method)) {
-                            maybeRemoveImport("com.google.common.collect.Lists");
-                            maybeAddImport("java.util.ArrayList");
-
-                            // Java Templates are used to generate Java code easily.
-                            // They use a syntax that expand Java with possible type-safe insertions points.
-                            // See https://docs.openrewrite.org/concepts-and-explanations/javatemplate for full documentation
-                            return JavaTemplate.builder("new ArrayList<>()")
-                                    .imports("java.util.ArrayList")
-                                    .build()
-                                    .apply(
-                                            getCursor(),
-                                            method.getCoordinates().replace());
+                        JavaTemplate template = template(method, ctx);
+                        if (template == null) {
+                            // For any method invocations that don't match, delegate to the super method to continue visiting
+                            return super.visitMethodInvocation(method, ctx);
                         }
-                        if (NEW_ARRAY_LIST_CAPACITY.matches(method)) {
-                            maybeRemoveImport("com.google.common.collect.Lists");
-                            maybeAddImport("java.util.ArrayList");
-
-                            // The `#{any(int)}` syntax means "insert any expression here of that type"
-                            return JavaTemplate.builder("new ArrayList<>(#{any(int)})")
-                                    .imports("java.util.ArrayList")
-                                    .build()
-                                    .apply(
-                                            getCursor(),
-                                            method.getCoordinates().replace(),
-                                            // Reuse the `int` argument passed to the Guava method
-                                            method.getArguments().get(0));
+                        maybeRemoveImport("com.google.common.collect.Lists");
+                        maybeAddImport("java.util.ArrayList");
+
+                        // Reuse the argument passed to the Guava method, if there is one
+                        Object[] parameters = template == Templates.of(ctx).newArrayList ?
+                                new Object[0] :
+                                new Object[]{method.getArguments().get(0)};
+                        return template.apply(getCursor(), method.getCoordinates().replace(), parameters);
+                    }
+
+                    /**
+                     * Match the declaring type once, then dispatch on the method name and arity.
+                     *
+                     * @return the template to replace the invocation with, or null if it is not one we replace
+                     */
+                    private @Nullable JavaTemplate template(J.MethodInvocation method, ExecutionContext ctx) {
+                        JavaType.Method type = method.getMethodType();
+                        if (type == null || !TypeUtils.isOfClassType(type.getDeclaringType(), "com.google.common.collect.Lists")) {
+                            return null;
                         }
-                        if (NEW_ARRAY_LIST_ITERABLE.matches(method)) {
-                            maybeRemoveImport("com.google.common.collect.Lists");
-                            maybeAddImport("java.util.ArrayList");
-
-                            // The `#{any(java.util.Collection)}` syntax means "insert any expression here of that type"
-                            return JavaTemplate.builder("new ArrayList<>(#{any(java.util.Collection)})")
-                                    .imports("java.util.ArrayList")
-                                    .build()
-                                    .apply(
-                                            getCursor(),
-                                            method.getCoordinates().replace(),
-                                            method.getArguments().get(0));
+                        Templates templates = Templates.of(ctx);
+                        List<JavaType> parameterTypes = type.getParameterTypes();
+                        switch (type.getName()) {
+                            case "newArrayList":
+                                if (parameterTypes.isEmpty()) {
+                                    return templates.newArrayList;
+                                }
+                                // Not the `newArrayList(E...)` or `newArrayList(Iterator)` overloads
+                                if (parameterTypes.size() == 1 && TypeUtils.isOfClassType(parameterTypes.get(0), "java.lang.Iterable")) {
+                                    return templates.newArrayListFromIterable;
+                                }
+                                return null;
+                            case "newArrayListWithCapacity":
+                                return parameterTypes.size() == 1 ? templates.newArrayListWithCapacity : null;
+                            default:
+                                return null;
                         }
-
-                        // For any method invocations that don't match, delegate to the super method to continue visiting
-                        return super.visitMethodInvocation(method, ctx);
                     }
                 }
         );
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Extracts TODOs on worker threads, with a pool of workers for each language, so that e.g. a large tree of XML and
+ * YAML configuration does not wait behind the Java files of a polyglot repository. The workers add to the
+ * {@link TodoCollector}, which keeps a buffer for each thread, so they never wait on each other.
+ * <p>
+ * Only the collected TODOs outlive a scan. The queue of files waiting for the workers of a language is bounded, and
+ * once it is full, submitting another file of that language waits for a worker to take one, so no more than a few
+ * source files per language are held on to at any time. The files are still extracted by the workers of their
+ * language, never by the thread submitting them. A file that has already been scanned, e.g. in an earlier cycle,
+ * is not submitted again.
+ */
+class PerLanguageTodoScanner {
+    private static final int QUEUE_CAPACITY_PER_WORKER = 2;
+
+    /**
+     * Waits for room in the queue of a pool rather than rejecting the file or extracting it on the submitting thread.
+     */
+    private static final RejectedExecutionHandler WAIT_FOR_ROOM = (r, pool) -> {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("The TODO workers have been shut down");
+        }
+        try {
+            pool.getQueue().put(r);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a TODO worker", e);
+        }
+    };
+
+    private final TodoCollector todos;
+    private final int workersPerLanguage;
+    private final int queueCapacity;
+    private final Map<String, ThreadPoolExecutor> pools = new ConcurrentHashMap<>();
+
+    // One party for the thread that awaits, and one for each scan in flight
+    private final Phaser scans = new Phaser(1);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    PerLanguageTodoScanner(TodoCollector todos) {
+        this(todos, Runtime.getRuntime().availableProcessors());
+    }
+
+    PerLanguageTodoScanner(TodoCollector todos, int workersPerLanguage) {
+        this(todos, workersPerLanguage, workersPerLanguage * QUEUE_CAPACITY_PER_WORKER);
+    }
+
+    /**
+     * @param queueCapacity how many files of a language may wait for a worker
+     */
+    PerLanguageTodoScanner(TodoCollector todos, int workersPerLanguage, int queueCapacity) {
+        this.todos = todos;
+        this.workersPerLanguage = workersPerLanguage;
+        this.queueCapacity = queueCapacity;
+    }
+
+    void submit(String language, SourceFile sourceFile, ExecutionContext ctx) {
+        if (!todos.claim(sourceFile, ctx)) {
+            return;
+        }
+        scans.register();
+        Runnable scan = () -> {
+            try {
+                if (failure.get() == null) {
+                    todos.extract(sourceFile, ctx);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                scans.arriveAndDeregister();
+            }
+        };
+        try {
+            pools.computeIfAbsent(language, this::newPool).execute(scan);
+        } catch (RejectedExecutionException e) {
+            scans.arriveAndDeregister();
+            throw e;
+        }
+    }
+
+    private ThreadPoolExecutor newPool(String language) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(workersPerLanguage, workersPerLanguage, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "todos-" + language + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, WAIT_FOR_ROOM);
+    }
+
+    /**
+     * Wait for every scan submitted so far and shut the workers down, after which the {@link TodoCollector} may be
+     * read. The first failure of a scan is rethrown.
+     */
+    void await() {
+        try {
+            scans.awaitAdvanceInterruptibly(scans.arrive());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for TODOs to be extracted", e);
+        } finally {
+            // The scanner runs again in every cycle, which then starts new workers. The files still queued after an
+            // interrupt are extracted before the workers stop, so that every registered scan arrives.
+            for (ThreadPoolExecutor pool : pools.values()) {
+                pool.shutdown();
+            }
+            pools.clear();
+        }
+        Throwable cause = failure.getAndSet(null);
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause != null) {
+            throw new IllegalStateException("Failed to extract TODOs", cause);
+        }
+    }
+}
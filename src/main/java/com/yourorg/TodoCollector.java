@@ -0,0 +1,303 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg;
+
+import com.yourorg.table.StringPool;
+import com.yourorg.trait.TodoComment;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Collects the TODOs found while scanning, for the recipes that write them to {@code TODO.md}.
+ * <p>
+ * Source files may be scanned on several threads at once. Each thread adds to a buffer of its own, so adding never
+ * contends on a lock, and the buffers are only merged when the recipe generates its results. A source file is always
+ * scanned by a single thread, so the TODOs of a file are in order within one buffer. The merged TODOs are sorted by
+ * source path, which makes the result the same however the files were spread over threads.
+ * <p>
+ * Once a buffer reaches the spill threshold, it is sorted and written to a temporary file, and the TODOs are later
+ * merged from those files and the remaining buffers as a stream. The memory used while scanning is bounded by the
+ * threshold per thread, however many TODOs a repository has. Each TODO is handed out by a single
+ * {@link #drain(ExecutionContext, Consumer)}, which deletes the temporary files as it is done with them and drops
+ * the buffers, so that nothing is left on disk or held on to by the scanning threads once the TODOs have been drained.
+ */
+public class TodoCollector {
+    public static final int DEFAULT_SPILL_THRESHOLD = 10_000;
+
+    private static final Comparator<Todo> BY_SOURCE_PATH = Comparator.comparing(Todo::getSourcePath);
+
+    @Value
+    public static class Todo {
+        String sourcePath;
+        String text;
+
+        /**
+         * The class of the element the comment is attached to.
+         */
+        String elementType;
+    }
+
+    /**
+     * A sorted run of TODOs spilled to disk. Runs are numbered in the order they were spilled, so that the TODOs of
+     * a file which was split over several runs of one thread are merged back in order.
+     */
+    @Value
+    private static class Run {
+        int sequence;
+        Path file;
+        int size;
+    }
+
+    private final int spillThreshold;
+    private final @Nullable Path spillDirectory;
+    private final Set<String> scanned = ConcurrentHashMap.newKeySet();
+    /**
+     * The buffer of each thread that scanned since the last drain. They are kept here rather than in a
+     * {@link ThreadLocal}, so that a drain drops every buffer, and a long-lived worker thread does not keep one
+     * beyond the run.
+     */
+    private final Map<Thread, List<Todo>> buffers = new ConcurrentHashMap<>();
+    private final Queue<Run> runs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public TodoCollector() {
+        this(DEFAULT_SPILL_THRESHOLD);
+    }
+
+    public TodoCollector(int spillThreshold) {
+        this(spillThreshold, null);
+    }
+
+    /**
+     * @param spillDirectory where to write spilled TODOs, or null for the default temporary-file directory
+     */
+    public TodoCollector(int spillThreshold, @Nullable Path spillDirectory) {
+        this.spillThreshold = spillThreshold;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Collect the TODO comments of a source file, unless it has already been scanned, e.g. in an earlier cycle.
+     */
+    public void scan(SourceFile sourceFile, ExecutionContext ctx) {
+        if (claim(sourceFile, ctx)) {
+            extract(sourceFile, ctx);
+        }
+    }
+
+    /**
+     * Claim a source file for {@link #extract(SourceFile, ExecutionContext)}, so that it is only handed to a worker
+     * when it has not been scanned before.
+     *
+     * @return false when the source file has already been claimed
+     */
+    boolean claim(SourceFile sourceFile, ExecutionContext ctx) {
+        return scanned.add(StringPool.intern(ctx, sourceFile.getSourcePath().toString()));
+    }
+
+    /**
+     * Collect the TODO comments of a source file that has been claimed.
+     */
+    void extract(SourceFile sourceFile, ExecutionContext ctx) {
+        String sourcePath = StringPool.intern(ctx, sourceFile.getSourcePath().toString());
+        List<Todo> todos = buffers.computeIfAbsent(Thread.currentThread(), t -> new ArrayList<>());
+        new TodoComment.Matcher().<ExecutionContext>asVisitor((todo, c) -> {
+            String elementType = StringPool.intern(c, todo.getCursor().getValue().getClass().toString());
+            for (String text : todo.getTodos()) {
+                todos.add(new Todo(sourcePath, text, elementType));
+                if (todos.size() >= spillThreshold) {
+                    spill(todos);
+                }
+            }
+            return todo.getTree();
+        }).visit(sourceFile, ctx);
+    }
+
+    private void spill(List<Todo> todos) {
+        todos.sort(BY_SOURCE_PATH);
+        Path file;
+        try {
+            file = spillDirectory == null ?
+                    Files.createTempFile("todos", ".bin") :
+                    Files.createTempFile(spillDirectory, "todos", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (Todo todo : todos) {
+                writeString(out, todo.getSourcePath());
+                writeString(out, todo.getText());
+                writeString(out, todo.getElementType());
+            }
+        } catch (IOException e) {
+            delete(file);
+            throw new UncheckedIOException(e);
+        }
+        runs.add(new Run(sequence.getAndIncrement(), file, todos.size()));
+        todos.clear();
+    }
+
+    /**
+     * Stream the TODOs collected since the last drain, ordered by source path and then by their position in the
+     * source file. Must only be called once scanning is done, after the threads that scanned have been joined.
+     * Each spilled file is deleted as soon as it has been read, and at the latest when the drain ends, also when it
+     * ends with an exception.
+     */
+    public void drain(ExecutionContext ctx, Consumer<Todo> action) {
+        // Every run and buffer is sorted by source path, so repeatedly taking the smallest head merges them in order.
+        // A file is scanned by a single thread, so ties are only between the runs and the buffer of one thread:
+        // the run spilled first comes first, and the buffer, holding the latest TODOs, comes last.
+        PriorityQueue<Source> queue = new PriorityQueue<>(Comparator
+                .comparing((Source s) -> s.head.getSourcePath())
+                .thenComparingInt(s -> s.sequence));
+        List<Run> drained = new ArrayList<>();
+        for (Run run = runs.poll(); run != null; run = runs.poll()) {
+            drained.add(run);
+        }
+        List<RunIterator> open = new ArrayList<>(drained.size());
+        try {
+            for (Run run : drained) {
+                RunIterator it = new RunIterator(run, ctx);
+                open.add(it);
+                Source.offer(queue, run.getSequence(), it);
+            }
+            for (List<Todo> b : buffers.values()) {
+                b.sort(BY_SOURCE_PATH);
+                Source.offer(queue, Integer.MAX_VALUE, b.iterator());
+            }
+            while (!queue.isEmpty()) {
+                Source source = queue.poll();
+                action.accept(source.head);
+                Source.offer(queue, source.sequence, source.todos);
+            }
+        } finally {
+            buffers.clear();
+            for (int i = 0; i < drained.size(); i++) {
+                if (i < open.size()) {
+                    open.get(i).close();
+                } else {
+                    delete(drained.get(i).getFile());
+                }
+            }
+        }
+    }
+
+    private static class Source {
+        final int sequence;
+        final Iterator<Todo> todos;
+        final Todo head;
+
+        Source(int sequence, Iterator<Todo> todos, Todo head) {
+            this.sequence = sequence;
+            this.todos = todos;
+            this.head = head;
+        }
+
+        static void offer(PriorityQueue<Source> queue, int sequence, Iterator<Todo> todos) {
+            if (todos.hasNext()) {
+                queue.add(new Source(sequence, todos, todos.next()));
+            }
+        }
+    }
+
+    private static class RunIterator implements Iterator<Todo> {
+        private final Path file;
+        private final DataInputStream in;
+        private final ExecutionContext ctx;
+        private int remaining;
+        private boolean closed;
+
+        RunIterator(Run run, ExecutionContext ctx) {
+            this.file = run.getFile();
+            try {
+                this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            } catch (IOException e) {
+                delete(file);
+                throw new UncheckedIOException(e);
+            }
+            this.ctx = ctx;
+            this.remaining = run.getSize();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Todo next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            try {
+                // Source paths and element types repeat, so share their instances again after reading them back
+                Todo todo = new Todo(StringPool.intern(ctx, readString(in)), readString(in), StringPool.intern(ctx, readString(in)));
+                if (remaining == 0) {
+                    close();
+                }
+                return todo;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // Only ever read from, so nothing is lost
+            }
+            delete(file);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
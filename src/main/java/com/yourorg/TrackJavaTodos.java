@@ -15,23 +15,26 @@
  */
 package com.yourorg;
 
+import com.yourorg.table.StringPool;
+import com.yourorg.table.TodoCommentsReport;
+import com.yourorg.trait.TodoComment;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Comment;
 import org.openrewrite.java.tree.Space;
+import org.openrewrite.java.tree.TextComment;
 
-// TODO - This is a placeholder for a recipe that uses data tables.
-// Implement a recipe that finds any comments in Java source files that contain `TODO`, and add them to a data table.
-// You're done when all of the tests in `TrackJavaTodosTest` pass.
-// The Java LST element `org.openrewrite.java.tree.Space` carries java comments in Java source files.
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class TrackJavaTodos extends Recipe {
 
+    transient TodoCommentsReport todoCommentsTable = new TodoCommentsReport(this);
 
     String displayName = "Export TODOs from Java comments";
 
@@ -42,7 +45,24 @@ public class TrackJavaTodos extends Recipe {
         return new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public Space visitSpace(@Nullable Space space, Space.Location loc, ExecutionContext ctx) {
-                // TODO implement me to find comments with TODO and add them to a data table
+                // Called for every space of every file, nearly all of which are only whitespace. Their comments are
+                // an empty list, so those are passed over without looking at any text.
+                if (space == null || space.getComments().isEmpty()) {
+                    return super.visitSpace(space, loc, ctx);
+                }
+                for (Comment comment : space.getComments()) {
+                    if (comment instanceof TextComment) {
+                        String text = ((TextComment) comment).getText();
+                        if (TodoComment.indexOfTodo(text, 0, text.length()) >= 0) {
+                            // Reported for the element the space is in, as TodoComment does, rather than for the
+                            // padding or container around an element that the cursor may point to
+                            todoCommentsTable.insertRow(ctx, new TodoCommentsReport.Row(
+                                    StringPool.intern(ctx, getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString()),
+                                    text.trim(),
+                                    StringPool.intern(ctx, TodoComment.enclosingElement(getCursor()).getValue().getClass().toString())));
+                        }
+                    }
+                }
                 return super.visitSpace(space, loc, ctx);
             }
         };
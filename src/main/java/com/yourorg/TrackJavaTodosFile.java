@@ -4,21 +4,25 @@ import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.text.PlainTextVisitor;
 
-import java.util.Collection;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 
-// TODO - This is a placeholder for a scanning recipe.
-// Implement a recipe that finds any comments in Java source files that contain `TODO`, and add them to a file called `TODO.md`.
-// You're done when all of the tests in `TrackJavaTodosFileTest` pass.
-// Implement a scanner that collects `TODO` comments, a generate that creates the `TODO.md` file if needed, and a visitor that inserts the collected TODOs into the file.
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class TrackJavaTodosFile extends ScanningRecipe<TrackJavaTodosFile.TodoComments> {
 
+    private static final Path TODO_MD = Paths.get("TODO.md");
+
     String displayName = "Track TODOs from Java comments";
 
     String description = "Scans Java source comments for TODOs and collects them in a file.";
@@ -30,9 +34,15 @@ public class TrackJavaTodosFile extends ScanningRecipe<TrackJavaTodosFile.TodoCo
     @Nullable
     String header;
 
+    // Source files may be scanned in parallel, so the TODOs are collected per thread and merged in generate()
     public static class TodoComments {
-        boolean foundTodoFile;
-        Set<String> todos = new LinkedHashSet<>();
+        volatile boolean foundTodoFile;
+        final TodoCollector todos = new TodoCollector();
+        /**
+         * The text TODO.md should have, which generate() renders from the TODOs as they are drained from the
+         * collector, rather than keeping them all in between. Null until then.
+         */
+        volatile @Nullable String rendered;
     }
 
     @Override
@@ -42,19 +52,63 @@ public class TrackJavaTodosFile extends ScanningRecipe<TrackJavaTodosFile.TodoCo
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(TodoComments acc) {
-        // TODO: implement a scanner that looks for TODO comments in Java source files
-        return TreeVisitor.noop();
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    acc.todos.scan((SourceFile) tree, ctx);
+                } else if (tree instanceof PlainText && TODO_MD.equals(((PlainText) tree).getSourcePath())) {
+                    acc.foundTodoFile = true;
+                }
+                return tree;
+            }
+        };
     }
 
     @Override
     public Collection<? extends SourceFile> generate(TodoComments acc, ExecutionContext ctx) {
-        // TODO: implement a method that generates TODO.md if there are any todos found and the file hasn't been created yet
-        return emptyList();
+        // A later cycle only drains the TODOs of source files that were not there before, which are appended
+        boolean firstCycle = acc.rendered == null;
+        StringBuilder rendered = new StringBuilder(firstCycle ? (header == null ? "## To Do List" : header) : acc.rendered);
+        // Only the distinct entries of TODO.md are held on to while rendering, rather than every TODO drained
+        Set<String> entries = new HashSet<>();
+        if (!firstCycle) {
+            String[] lines = acc.rendered.split("\n");
+            entries.addAll(Arrays.asList(lines).subList(1, lines.length));
+        }
+        AtomicBoolean drained = new AtomicBoolean();
+        acc.todos.drain(ctx, todo -> {
+            drained.set(true);
+            if (entries.add(todo.getText())) {
+                rendered.append('\n').append(todo.getText());
+            }
+        });
+        if (!firstCycle && !drained.get()) {
+            return emptyList();
+        }
+        // Also when no TODO is left, so that the entries of those that were resolved are removed
+        acc.rendered = rendered.toString();
+        if (acc.foundTodoFile || !drained.get()) {
+            return emptyList();
+        }
+        // Create an empty TODO.md, which the visitor fills in
+        return PlainTextParser.builder().build()
+                .parse("")
+                .map(it -> (SourceFile) it.withSourcePath(TODO_MD))
+                .collect(toList());
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(TodoComments acc) {
-        // TODO: implement a method to insert all todos to the TODO.md file
-        return TreeVisitor.noop();
+        return Preconditions.check(
+                new FindSourceFiles("TODO.md"),
+                new PlainTextVisitor<ExecutionContext>() {
+                    @Override
+                    public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                        PlainText t = super.visitText(text, ctx);
+                        String rendered = acc.rendered;
+                        return rendered == null || rendered.equals(t.getText()) ? t : t.withText(rendered);
+                    }
+                });
     }
 }
@@ -1,26 +1,30 @@
 package com.yourorg;
 
 import com.yourorg.table.TodoCommentsReport;
-import com.yourorg.trait.TodoComment;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.text.PlainTextVisitor;
+import org.openrewrite.xml.tree.Xml;
+import org.openrewrite.yaml.tree.Yaml;
 
-import java.util.Collection;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 
-// TODO - This is a placeholder for a scanning recipe that uses traits and data tables.
-// Implement a recipe that finds any comments in Java, XML, or YAML source files that contain `TODO`, and add them to a file called `TODO.md`.
-// Also store the data in a data table using TodoCommentsReport.
-// You're done when all of the tests in `TrackTodosTest` pass.
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class TrackTodos extends ScanningRecipe<TrackTodos.TodoComments> {
 
+    private static final Path TODO_MD = Paths.get("TODO.md");
+
     transient TodoCommentsReport todoCommentsTable = new TodoCommentsReport(this);
 
     String displayName = "Track TODOs from Java, YAML, or XML comments";
@@ -34,32 +38,258 @@ public class TrackTodos extends ScanningRecipe<TrackTodos.TodoComments> {
     @Nullable
     String header;
 
+    @Option(displayName = "Extract per language in parallel",
+            description = "When set to true, the TODOs of Java, YAML, and XML files are extracted on worker threads, " +
+                          "with separate workers for each language. Defaults to extracting them while scanning.",
+            example = "true",
+            required = false)
+    @Nullable
+    Boolean parallel;
+
+    // Source files may be scanned in parallel, or handed to the workers of their language, so the TODOs are collected
+    // per thread and merged in generate()
     public static class TodoComments {
-        boolean foundTodoFile;
-        Set<TodoComment> todos = new LinkedHashSet<>();
+        volatile boolean foundTodoFile;
+        /**
+         * The text of the existing TODO.md, until generate() has updated it.
+         */
+        volatile @Nullable String todoFile;
+        final TodoCollector todos = new TodoCollector();
+        /**
+         * The text TODO.md should have, which generate() renders from the TODOs as they are drained from the
+         * collector, rather than keeping them all in between. Null until then.
+         */
+        volatile @Nullable String rendered;
+        final @Nullable PerLanguageTodoScanner workers;
+
+        TodoComments(boolean parallel) {
+            this.workers = parallel ? new PerLanguageTodoScanner(todos) : null;
+        }
     }
 
     @Override
     public TodoComments getInitialValue(ExecutionContext ctx) {
-        return new TodoComments();
+        return new TodoComments(Boolean.TRUE.equals(parallel));
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(TodoComments acc) {
-        // TODO Leverage TodoComment.Matcher to find TODO comments in Java, YAML, and XML files.
-        return TreeVisitor.noop();
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof J || tree instanceof Yaml || tree instanceof Xml) {
+                    if (acc.workers == null) {
+                        acc.todos.scan((SourceFile) tree, ctx);
+                    } else {
+                        String language = tree instanceof J ? "java" : tree instanceof Yaml ? "yaml" : "xml";
+                        acc.workers.submit(language, (SourceFile) tree, ctx);
+                    }
+                } else if (tree instanceof PlainText && TODO_MD.equals(((PlainText) tree).getSourcePath())) {
+                    acc.foundTodoFile = true;
+                    if (acc.rendered == null) {
+                        acc.todoFile = ((PlainText) tree).getText();
+                    }
+                }
+                return tree;
+            }
+        };
     }
 
     @Override
     public Collection<? extends SourceFile> generate(TodoComments acc, ExecutionContext ctx) {
-        // TODO Insert a row for each todo comment into todoCommentsTable
-        // TODO Potentially create a new plain text source file named TODO.md
-        return emptyList();
+        if (acc.workers != null) {
+            acc.workers.await();
+        }
+        // The first cycle drains every TODO, and removes the entries of TODO.md that are no longer found. A later
+        // cycle only drains the TODOs of source files that were not there before, which are added.
+        boolean firstCycle = acc.rendered == null;
+        String text = firstCycle ? acc.todoFile : acc.rendered;
+        acc.todoFile = null;
+        TodoFile todoFile = new TodoFile(text == null ? "" : text, header == null ? "## To Do List" : header, firstCycle);
+        // Rows are inserted from the merged TODOs rather than while scanning, so that their order is deterministic.
+        // Each TODO goes straight to the data table and TODO.md, so only the entries of TODO.md are held in memory,
+        // and the rows too unless the data table is streamed to disk with ColumnarExport.
+        acc.todos.drain(ctx, todo -> {
+            todoCommentsTable.insertRow(ctx, new TodoCommentsReport.Row(todo.getSourcePath(), todo.getText(), todo.getElementType()));
+            todoFile.add(oneLine(todo.getText()));
+        });
+        if (!firstCycle && !todoFile.isDrained()) {
+            return emptyList();
+        }
+        // Also when no TODO is left, so that the entries of those that were resolved are removed
+        acc.rendered = todoFile.render();
+        if (acc.foundTodoFile || !todoFile.isDrained()) {
+            return emptyList();
+        }
+        // Create an empty TODO.md, which the visitor fills in
+        return PlainTextParser.builder().build()
+                .parse("")
+                .map(it -> (SourceFile) it.withSourcePath(TODO_MD))
+                .collect(toList());
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(TodoComments acc) {
-        // TODO Write all the todo comments to TODO.md
-        return TreeVisitor.noop();
+        return Preconditions.check(
+                new FindSourceFiles("TODO.md"),
+                new PlainTextVisitor<ExecutionContext>() {
+                    @Override
+                    public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                        PlainText t = super.visitText(text, ctx);
+                        String rendered = acc.rendered;
+                        return rendered == null || rendered.equals(t.getText()) ? t : t.withText(rendered);
+                    }
+                });
+    }
+
+    /**
+     * TODO.md as it is updated from the drained TODOs, one at a time. Its existing text is updated in place rather
+     * than rendered again: entries that are no longer found are removed, new ones are appended, and everything else,
+     * including the order of the entries that remain, is left as is. That keeps the diff down to the TODOs that
+     * changed. Lines are compared without their line separator, and new lines use the separator of the file, so a
+     * file with CRLF line endings is updated the same way.
+     * <p>
+     * Only the entries of TODO.md are held on to, the existing ones and the new ones, rather than every TODO drained.
+     */
+    private static class TodoFile {
+        private final String text;
+        private final String header;
+        private final boolean removeStale;
+
+        /**
+         * The entries already in TODO.md, each mapped to whether it is still found.
+         */
+        private final Map<String, Boolean> entries = new HashMap<>();
+        private final Set<String> added = new LinkedHashSet<>();
+        private boolean drained;
+
+        /**
+         * @param removeStale whether the entries that are not added are removed, which is only right once every TODO
+         *                    is added
+         */
+        TodoFile(String text, String header, boolean removeStale) {
+            this.text = text;
+            this.header = header;
+            this.removeStale = removeStale;
+            for (int start = lineEnd(text, 0).getNext(); start < text.length(); ) {
+                LineEnd end = lineEnd(text, start);
+                String line = text.substring(start, end.getLine());
+                if (!line.trim().isEmpty()) {
+                    entries.put(line, false);
+                }
+                start = end.getNext();
+            }
+        }
+
+        /**
+         * @param todo a TODO on a single line
+         */
+        void add(String todo) {
+            drained = true;
+            if (entries.containsKey(todo)) {
+                entries.put(todo, true);
+            } else {
+                added.add(todo);
+            }
+        }
+
+        boolean isDrained() {
+            return drained;
+        }
+
+        /**
+         * @return the updated text, or the existing text itself when nothing changed
+         */
+        String render() {
+            String newline = text.contains("\r\n") ? "\r\n" : "\n";
+            StringBuilder updated = null;
+            LineEnd headerEnd = lineEnd(text, 0);
+            if (!text.substring(0, headerEnd.getLine()).equals(header)) {
+                updated = new StringBuilder(text.length() + header.length()).append(header);
+                if (text.indexOf('\n') >= 0) {
+                    updated.append(newline);
+                }
+            }
+            for (int start = headerEnd.getNext(); start < text.length(); ) {
+                LineEnd end = lineEnd(text, start);
+                String line = text.substring(start, end.getLine());
+                // Blank lines are not entries, and an entry listed twice is only kept the first time
+                Boolean found = entries.remove(line);
+                boolean keep = line.trim().isEmpty() || found != null && (found || !removeStale);
+                if (!keep && updated == null) {
+                    updated = new StringBuilder(text.length()).append(text, 0, start);
+                } else if (keep && updated != null) {
+                    updated.append(text, start, end.getNext());
+                }
+                start = end.getNext();
+            }
+            if (added.isEmpty()) {
+                return updated == null ? text : updated.toString();
+            }
+            if (updated == null) {
+                updated = new StringBuilder(text);
+            }
+            if (updated.length() > 0 && updated.charAt(updated.length() - 1) != '\n') {
+                updated.append(newline);
+            }
+            for (String todo : added) {
+                updated.append(todo).append(newline);
+            }
+            return updated.toString();
+        }
+
+        /**
+         * Where the line starting at {@code start} ends, without and with its line separator.
+         */
+        private static LineEnd lineEnd(String text, int start) {
+            int end = text.indexOf('\n', start);
+            int next = end < 0 ? text.length() : end + 1;
+            int line = end < 0 ? text.length() : end;
+            if (line > start && text.charAt(line - 1) == '\r') {
+                line--;
+            }
+            return new LineEnd(line, next);
+        }
+
+        @Value
+        private static class LineEnd {
+            int line;
+            int next;
+        }
+    }
+
+    /**
+     * A TODO.md entry is a single line, so the lines of a TODO spanning several, like a block comment, are joined
+     * with a space. The leading {@code *} of block comment lines is dropped along with the indentation.
+     */
+    static String oneLine(String todo) {
+        if (todo.indexOf('\n') < 0 && todo.indexOf('\r') < 0) {
+            return todo;
+        }
+        StringBuilder line = new StringBuilder(todo.length());
+        for (int i = 0; i < todo.length(); ) {
+            char c = todo.charAt(i);
+            if (c != '\n' && c != '\r') {
+                line.append(c);
+                i++;
+                continue;
+            }
+            while (line.length() > 0 && Character.isWhitespace(line.charAt(line.length() - 1))) {
+                line.setLength(line.length() - 1);
+            }
+            while (i < todo.length() && Character.isWhitespace(todo.charAt(i))) {
+                i++;
+            }
+            if (i < todo.length() && todo.charAt(i) == '*') {
+                i++;
+                while (i < todo.length() && Character.isWhitespace(todo.charAt(i))) {
+                    i++;
+                }
+            }
+            if (line.length() > 0 && i < todo.length()) {
+                line.append(' ');
+            }
+        }
+        return line.toString();
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.Recipe;
+
+public class ClassHierarchyClosureReport extends StreamingDataTable<ClassHierarchyClosureReport.Row> {
+
+    public ClassHierarchyClosureReport(Recipe recipe) {
+        super(recipe,
+                "Class hierarchy closure report",
+                "Records every ancestor of each class, so all subtypes of a type can be found by filtering on the ancestor.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Class name",
+                description = "Fully qualified name of the class.")
+        String className;
+
+        @Column(displayName = "Ancestor name",
+                description = "Fully qualified name of a direct or indirect superclass or super interface.")
+        String ancestorName;
+
+        @Column(displayName = "Distance",
+                description = "The number of inheritance steps from the class to the ancestor, 1 for a direct supertype.")
+        int distance;
+    }
+}
@@ -17,10 +17,9 @@ package com.yourorg.table;
 
 import lombok.Value;
 import org.openrewrite.Column;
-import org.openrewrite.DataTable;
 import org.openrewrite.Recipe;
 
-public class ClassHierarchyReport extends DataTable<ClassHierarchyReport.Row> {
+public class ClassHierarchyReport extends StreamingDataTable<ClassHierarchyReport.Row> {
 
     public ClassHierarchyReport(Recipe recipe) {
         super(recipe,
@@ -35,16 +34,18 @@ public class ClassHierarchyReport extends DataTable<ClassHierarchyReport.Row> {
         String className;
 
         @Column(displayName = "Relationship",
-                description = "Whether the class implements a super interface or extends a superclass.")
+                description = "Whether the class implements a super interface, extends a superclass or super interface, " +
+                              "or bounds one of its type parameters by the type.")
         Relationship relationship;
 
         @Column(displayName = "Super class name",
-                description = "Fully qualified name of the superclass.")
+                description = "Fully qualified name of the superclass, super interface or type parameter bound.")
         String superClassName;
     }
 
     public enum Relationship {
         EXTENDS,
-        IMPLEMENTS
+        IMPLEMENTS,
+        TYPE_PARAMETER_BOUND
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams the rows of a {@link StreamingDataTable} to a columnar file per data table, instead of keeping them in
+ * memory until the end of the run. Rows are written in batches by a {@link StreamingRowSink} per data table, which
+ * holds back the recipe inserting rows when writing falls behind, so heap use does not grow with the number of rows.
+ * <p>
+ * A recipe run has no hook for the end of the run, so whoever runs the recipes owns the export: enable it on the
+ * execution context before the run, and close it once the run is done. Closing writes the last, incomplete batch of
+ * each data table and marks the end of each file.
+ * <pre>{@code
+ * ColumnarExport.enable(ctx, Paths.get("build/data-tables"));
+ * try {
+ *     // run the recipes
+ * } finally {
+ *     ColumnarExport.close(ctx);
+ * }
+ * }</pre>
+ * Each data table is written to {@code <data table name>.rwcol} in the directory, in the format described on
+ * {@link ColumnarTableWriter}, and can be read back with {@link ColumnarTableReader}. A file whose export was never
+ * closed is missing its last rows, and the reader fails on it rather than returning them silently. While the export
+ * is enabled, the rows are not part of the recipe run's data tables.
+ */
+public final class ColumnarExport {
+    private static final String DIRECTORY = "com.yourorg.table.ColumnarExport.directory";
+    private static final String SINKS = "com.yourorg.table.ColumnarExport.sinks";
+
+    private static final Map<Class<?>, Field[]> COLUMNS = new ConcurrentHashMap<>();
+
+    private ColumnarExport() {
+    }
+
+    public static void enable(ExecutionContext ctx, Path directory) {
+        ctx.putMessage(DIRECTORY, directory);
+    }
+
+    public static boolean isEnabled(ExecutionContext ctx) {
+        return ctx.getMessage(DIRECTORY) != null;
+    }
+
+    /**
+     * Wait for the remaining rows to be written and close every file of this execution context.
+     */
+    public static void close(ExecutionContext ctx) throws IOException {
+        Map<String, StreamingRowSink> sinks = ctx.pollMessage(SINKS);
+        if (sinks != null) {
+            for (StreamingRowSink sink : sinks.values()) {
+                sink.close();
+            }
+        }
+    }
+
+    static void write(ExecutionContext ctx, DataTable<?> dataTable, Object row) {
+        Field[] columns = columns(row.getClass());
+        StreamingRowSink sink = ctx.<Map<String, StreamingRowSink>>computeMessageIfAbsent(SINKS, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(dataTable.getName(), name -> open(ctx.getMessage(DIRECTORY), name, columns));
+        Object[] values = new Object[columns.length];
+        try {
+            for (int c = 0; c < columns.length; c++) {
+                Object value = columns[c].get(row);
+                values[c] = value == null || isIntegral(columns[c]) ? value : value.toString();
+            }
+            sink.accept(values);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static StreamingRowSink open(Path directory, String dataTableName, Field[] columns) {
+        String[] names = new String[columns.length];
+        ColumnarTableWriter.ColumnType[] types = new ColumnarTableWriter.ColumnType[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            names[c] = columns[c].getName();
+            types[c] = isIntegral(columns[c]) ? ColumnarTableWriter.ColumnType.LONG : ColumnarTableWriter.ColumnType.STRING;
+        }
+        try {
+            Files.createDirectories(directory);
+            return new StreamingRowSink(new ColumnarTableWriter(directory.resolve(dataTableName + ".rwcol"), names, types));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isIntegral(Field column) {
+        Class<?> type = column.getType();
+        return type == int.class || type == Integer.class ||
+               type == long.class || type == Long.class ||
+               type == short.class || type == Short.class;
+    }
+
+    /**
+     * The {@link Column} fields of a row, in declaration order, which is also the order of the columns of the CSV
+     * export of a data table.
+     */
+    private static Field[] columns(Class<?> rowType) {
+        return COLUMNS.computeIfAbsent(rowType, type -> {
+            List<Field> columns = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(Column.class)) {
+                    field.setAccessible(true);
+                    columns.add(field);
+                }
+            }
+            return columns.toArray(new Field[0]);
+        });
+    }
+}
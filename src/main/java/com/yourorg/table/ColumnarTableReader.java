@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.yourorg.table.ColumnarTableWriter.*;
+
+/**
+ * Reads back a file written by {@link ColumnarTableWriter}, one batch at a time. A file that ends without the end
+ * marker written on close, because its writer was never closed, is rejected once its last complete batch was read.
+ */
+public class ColumnarTableReader implements Closeable {
+    private final DataInputStream in;
+    private final List<String> columnNames;
+    private final ColumnType[] types;
+    private final List<String>[] dictionaries;
+    private final Path file;
+
+    private Object[][] batch = new Object[0][0];
+    private int rows;
+    private int next;
+    private boolean ended;
+
+    @SuppressWarnings("unchecked")
+    public ColumnarTableReader(Path file) throws IOException {
+        this.file = file;
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            in.close();
+            throw new IOException(file + " is not a columnar data table export");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            in.close();
+            throw new IOException("Unsupported columnar data table export version " + version + " in " + file);
+        }
+        int columns = in.readInt();
+        List<String> names = new ArrayList<>(columns);
+        types = new ColumnType[columns];
+        dictionaries = new List[columns];
+        for (int c = 0; c < columns; c++) {
+            names.add(readString(in));
+            types[c] = ColumnType.values()[in.readUnsignedByte()];
+            if (types[c] == ColumnType.STRING) {
+                dictionaries[c] = new ArrayList<>();
+            }
+        }
+        columnNames = Collections.unmodifiableList(names);
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * @return the values of the next row, a {@link String} or null for string columns and a {@link Long} for long
+     * columns, or null once all rows have been read
+     * @throws IOException if the file ends before its end marker, as the rows of an unclosed writer would be missing
+     */
+    public @Nullable Object @Nullable [] read() throws IOException {
+        if (next == rows && !readBatch()) {
+            return null;
+        }
+        Object[] row = new Object[types.length];
+        for (int c = 0; c < types.length; c++) {
+            row[c] = batch[c][next];
+        }
+        next++;
+        return row;
+    }
+
+    private boolean readBatch() throws IOException {
+        if (ended) {
+            return false;
+        }
+        int count;
+        try {
+            count = in.readInt();
+        } catch (EOFException e) {
+            throw new IOException(file + " ends before its last rows, as it was not closed after writing. " +
+                                  "When exporting data tables, call ColumnarExport.close() once the run is done.", e);
+        }
+        if (count == 0) {
+            ended = true;
+            rows = 0;
+            next = 0;
+            return false;
+        }
+        if (batch.length == 0 || batch[0].length < count) {
+            batch = new Object[types.length][count];
+        }
+        for (int c = 0; c < types.length; c++) {
+            Object[] column = batch[c];
+            if (types[c] == ColumnType.LONG) {
+                for (int r = 0; r < count; r++) {
+                    long value = readVarLong(in);
+                    column[r] = (value >>> 1) ^ -(value & 1);
+                }
+                continue;
+            }
+            List<String> dictionary = dictionaries[c];
+            for (int added = in.readInt(); added > 0; added--) {
+                dictionary.add(readString(in));
+            }
+            for (int r = 0; r < count; r++) {
+                int code = (int) readVarLong(in);
+                column[r] = code == NULL ? null :
+                        code == INLINE ? readString(in) :
+                                dictionary.get(code - DICTIONARY_OFFSET);
+            }
+        }
+        rows = count;
+        next = 0;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
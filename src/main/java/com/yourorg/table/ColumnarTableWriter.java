@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Writes rows to a local file column by column, one batch of rows at a time, so that only the current batch is held
+ * in memory. String columns are dictionary encoded: each distinct value is written once, in the batch where it first
+ * appears, and referred to by id from then on. The layout is:
+ * <pre>
+ * "RWCOL" version
+ * column count, then the name and {@link ColumnType} of each column
+ * batches, each made of:
+ *   row count, then for each column:
+ *     STRING: the count of new dictionary entries, the entries, then a varint code per row
+ *     LONG: a zig-zag encoded varint per row
+ * a row count of 0, written on {@link #close()} to mark the end of the rows
+ * </pre>
+ * A string code is 0 for null, 1 for a value written inline right after the code, and otherwise the dictionary id
+ * plus 2. Values are written inline once a column's dictionary is full, which keeps memory bounded for columns with
+ * mostly distinct values. Use {@link ColumnarTableReader} to read the file back.
+ */
+public class ColumnarTableWriter implements Closeable {
+    static final byte[] MAGIC = "RWCOL".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 2;
+
+    static final int NULL = 0;
+    static final int INLINE = 1;
+    static final int DICTIONARY_OFFSET = 2;
+
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+    public static final int DEFAULT_MAX_DICTIONARY_SIZE = 1 << 16;
+
+    public enum ColumnType {
+        STRING,
+        LONG
+    }
+
+    private final DataOutputStream out;
+    private final ColumnType[] types;
+    private final int batchSize;
+    private final int maxDictionarySize;
+
+    private final Object[][] batch;
+    private final Map<String, Integer>[] dictionaries;
+    private int rows;
+
+    public ColumnarTableWriter(Path file, String[] names, ColumnType[] types) throws IOException {
+        this(file, names, types, DEFAULT_BATCH_SIZE, DEFAULT_MAX_DICTIONARY_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ColumnarTableWriter(Path file, String[] names, ColumnType[] types, int batchSize, int maxDictionarySize) throws IOException {
+        if (names.length != types.length) {
+            throw new IllegalArgumentException("Expected a type for each of the " + names.length + " columns");
+        }
+        this.types = types;
+        this.batchSize = batchSize;
+        this.maxDictionarySize = maxDictionarySize;
+        this.batch = new Object[types.length][batchSize];
+        this.dictionaries = new Map[types.length];
+        for (int c = 0; c < types.length; c++) {
+            if (types[c] == ColumnType.STRING) {
+                dictionaries[c] = new HashMap<>();
+            }
+        }
+
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(names.length);
+        for (int c = 0; c < names.length; c++) {
+            writeString(out, names[c]);
+            out.writeByte(types[c].ordinal());
+        }
+        // Each complete batch is on disk as soon as it is written, so a writer that is never closed only loses the
+        // rows of its last batch, and the reader can tell that they are missing
+        out.flush();
+    }
+
+    /**
+     * Add a row, writing the current batch to disk once it is full.
+     *
+     * @param values one value per column, a {@link String} or null for string columns and a {@link Number} for long columns
+     */
+    public synchronized void write(@Nullable Object[] values) throws IOException {
+        for (int c = 0; c < types.length; c++) {
+            batch[c][rows] = values[c];
+        }
+        if (++rows == batchSize) {
+            flushBatch();
+        }
+    }
+
+    private void flushBatch() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        out.writeInt(rows);
+        for (int c = 0; c < types.length; c++) {
+            Object[] column = batch[c];
+            if (types[c] == ColumnType.LONG) {
+                for (int r = 0; r < rows; r++) {
+                    long value = ((Number) column[r]).longValue();
+                    writeVarLong(out, (value << 1) ^ (value >> 63));
+                }
+            } else {
+                writeStringColumn(column, dictionaries[c]);
+            }
+            // Don't keep the rows of this batch reachable until they are overwritten by the next one
+            Arrays.fill(column, 0, rows, null);
+        }
+        rows = 0;
+        out.flush();
+    }
+
+    private void writeStringColumn(Object[] column, Map<String, Integer> dictionary) throws IOException {
+        int[] codes = new int[rows];
+        List<String> added = new ArrayList<>();
+        for (int r = 0; r < rows; r++) {
+            String value = (String) column[r];
+            if (value == null) {
+                codes[r] = NULL;
+                continue;
+            }
+            Integer id = dictionary.get(value);
+            if (id == null && dictionary.size() < maxDictionarySize) {
+                id = dictionary.size();
+                dictionary.put(value, id);
+                added.add(value);
+            }
+            codes[r] = id == null ? INLINE : id + DICTIONARY_OFFSET;
+        }
+        // First the values this batch adds to the dictionary, so that a reader can resolve every code in the batch
+        out.writeInt(added.size());
+        for (String value : added) {
+            writeString(out, value);
+        }
+        for (int r = 0; r < rows; r++) {
+            writeVarLong(out, codes[r]);
+            if (codes[r] == INLINE) {
+                writeString(out, (String) column[r]);
+            }
+        }
+    }
+
+    /**
+     * Write out any rows of an incomplete batch, so that the file holds every row written so far.
+     */
+    public synchronized void flush() throws IOException {
+        flushBatch();
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flushBatch();
+        out.writeInt(0);
+        out.close();
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
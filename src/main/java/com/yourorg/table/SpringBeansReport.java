@@ -18,11 +18,10 @@ package com.yourorg.table;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import lombok.Value;
 import org.openrewrite.Column;
-import org.openrewrite.DataTable;
 import org.openrewrite.Recipe;
 
 @JsonIgnoreType
-public class SpringBeansReport extends DataTable<SpringBeansReport.Row> {
+public class SpringBeansReport extends StreamingDataTable<SpringBeansReport.Row> {
 
     public SpringBeansReport(Recipe recipe) {
         super(recipe, "Spring bean definitions",
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+
+/**
+ * A data table whose rows are streamed to disk when a {@link ColumnarExport} is enabled for the run, and otherwise
+ * collected like the rows of any other data table.
+ */
+public abstract class StreamingDataTable<Row> extends DataTable<Row> {
+
+    protected StreamingDataTable(Recipe recipe, String displayName, String description) {
+        super(recipe, displayName, description);
+    }
+
+    @Override
+    public void insertRow(ExecutionContext ctx, Row row) {
+        if (!ColumnarExport.isEnabled(ctx)) {
+            super.insertRow(ctx, row);
+        } else if (allowWritingInThisCycle(ctx)) {
+            ColumnarExport.write(ctx, this, row);
+        }
+    }
+}
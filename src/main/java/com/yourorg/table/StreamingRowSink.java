@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands rows over in batches to a background thread, which writes them with a {@link ColumnarTableWriter}.
+ * At most {@code capacity} full batches wait to be written. Once they do, adding a row blocks until the writer has
+ * caught up, so the rows held in memory are bounded however many rows a run produces.
+ * <p>
+ * All sinks share a single writer thread, which only runs while there are batches to write. A sink that is never
+ * closed therefore does not keep a thread alive, but the rows of its last, incomplete batch are not written, and
+ * {@link ColumnarTableReader} rejects its file as incomplete.
+ */
+public class StreamingRowSink implements Closeable {
+    public static final int DEFAULT_BATCH_SIZE = ColumnarTableWriter.DEFAULT_BATCH_SIZE;
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private static final ThreadPoolExecutor WRITER = newWriter();
+
+    private final ColumnarTableWriter writer;
+    private final int batchSize;
+    private final int capacity;
+    private final Semaphore pending;
+
+    private Object[][] batch;
+    private int rows;
+    private boolean closed;
+
+    private volatile @Nullable IOException failure;
+
+    public StreamingRowSink(ColumnarTableWriter writer) {
+        this(writer, DEFAULT_BATCH_SIZE, DEFAULT_CAPACITY);
+    }
+
+    public StreamingRowSink(ColumnarTableWriter writer, int batchSize, int capacity) {
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.pending = new Semaphore(capacity);
+        this.batch = new Object[batchSize][];
+    }
+
+    private static ThreadPoolExecutor newWriter() {
+        // A single thread writes the batches of every sink in the order they were handed over
+        ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "data-table-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.allowCoreThreadTimeOut(true);
+        return writer;
+    }
+
+    /**
+     * Add a row, blocking while the batches of this sink waiting to be written are at capacity.
+     *
+     * @throws IOException if writing an earlier batch failed
+     */
+    public synchronized void accept(@Nullable Object[] values) throws IOException {
+        checkFailure();
+        if (closed) {
+            throw new IOException("The sink has been closed");
+        }
+        batch[rows] = values;
+        if (++rows == batchSize) {
+            enqueue(batch);
+            batch = new Object[batchSize][];
+            rows = 0;
+        }
+    }
+
+    /**
+     * Write out the remaining rows and close the underlying writer, once every batch has been written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (rows > 0) {
+            enqueue(Arrays.copyOf(batch, rows));
+        }
+        batch = new Object[0][];
+        try {
+            // Every permit is back once the last batch of this sink has been written
+            pending.acquire(capacity);
+            pending.release(capacity);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rows to be written");
+        }
+        writer.close();
+        checkFailure();
+    }
+
+    private void enqueue(Object[][] rows) throws IOException {
+        try {
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rows to be written");
+        }
+        WRITER.execute(() -> {
+            try {
+                // After a failure the remaining batches are dropped, and the failure is reported to the producer
+                if (failure == null) {
+                    for (Object[] row : rows) {
+                        writer.write(row);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Failed to write data table rows", e);
+        }
+    }
+}
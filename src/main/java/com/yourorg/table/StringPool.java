@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import org.openrewrite.ExecutionContext;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical instances of the strings that data table rows repeat, like fully qualified type names and source paths.
+ * Rows built from pooled strings share one instance of each value instead of holding a copy each.
+ * <p>
+ * The pool lives in the execution context, so it is released with the run, unlike {@link String#intern()}.
+ */
+public class StringPool {
+    public static final String KEY = "com.yourorg.table.StringPool";
+
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+
+    public static StringPool of(ExecutionContext ctx) {
+        return ctx.computeMessageIfAbsent(KEY, k -> new StringPool());
+    }
+
+    public static String intern(ExecutionContext ctx, String value) {
+        return of(ctx).intern(value);
+    }
+
+    public String intern(String value) {
+        // Most values are already pooled, and a lookup is cheaper than putIfAbsent
+        String canonical = strings.get(value);
+        if (canonical == null) {
+            canonical = strings.putIfAbsent(value, value);
+            if (canonical == null) {
+                canonical = value;
+            }
+        }
+        return canonical;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
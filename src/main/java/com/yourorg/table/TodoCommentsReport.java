@@ -2,10 +2,9 @@ package com.yourorg.table;
 
 import lombok.Value;
 import org.openrewrite.Column;
-import org.openrewrite.DataTable;
 import org.openrewrite.Recipe;
 
-public class TodoCommentsReport extends DataTable<TodoCommentsReport.Row> {
+public class TodoCommentsReport extends StreamingDataTable<TodoCommentsReport.Row> {
 
     public TodoCommentsReport(Recipe recipe) {
         super(recipe,
@@ -5,45 +5,238 @@ import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.Comment;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.java.tree.TextComment;
 import org.openrewrite.trait.SimpleTraitMatcher;
 import org.openrewrite.trait.Trait;
+import org.openrewrite.trait.VisitFunction2;
+import org.openrewrite.xml.XmlVisitor;
 import org.openrewrite.xml.tree.Xml;
+import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.ArrayList;
 import java.util.List;
 
-// TODO - This is a placeholder for a trait.
-// Implement a trait that that defines how to match `TODO` comments across Java, YAML, and XML files.
+/**
+ * The comments mentioning TODO that are attached to an element of a Java, YAML or XML source file.
+ * For Java and YAML that is the element whose prefix holds the comments, for XML the prolog or tag containing them.
+ * Java comments that are in no prefix, e.g. before the closing brace of a block or at the end of the file, are
+ * attached to the element containing them, like the block or the compilation unit.
+ */
 @Value
 public class TodoComment implements Trait<Tree> {
 
     @Getter
     Cursor cursor;
 
+    /**
+     * The text of each comment, without comment delimiters and surrounding whitespace, e.g. {@code TODO: Have fun}.
+     */
     @Getter
     List<String> todos;
 
     public static class Matcher extends SimpleTraitMatcher<TodoComment> {
+
+        /**
+         * Unlike the visitor of other trait matchers, which tests every element of every file, this one only looks at
+         * the elements that can hold comments: the Java spaces that have comments, the prefix of YAML nodes that
+         * contain a {@code #}, and XML prologs and tags.
+         */
+        @Override
+        public <P> TreeVisitor<? extends Tree, P> asVisitor(VisitFunction2<TodoComment, P> visitor) {
+            JavaVisitor<P> javaVisitor = new JavaVisitor<P>() {
+                @Override
+                public @Nullable J preVisit(J tree, P p) {
+                    // Almost every element has a prefix without comments, which is checked without scanning anything
+                    if (tree.getPrefix().getComments().isEmpty()) {
+                        return tree;
+                    }
+                    List<String> todos = javaTodos(tree.getPrefix());
+                    return todos == null ? tree : (J) visitor.visit(new TodoComment(getCursor(), todos), p);
+                }
+
+                @Override
+                public Space visitSpace(@Nullable Space space, Space.Location loc, P p) {
+                    // The other spaces, like the end of a block, the space after an element in a list and the end of
+                    // the file, belong to no element of their own. Their TODOs are reported for the element they are
+                    // in, which the visit function cannot replace from here, so what it returns is not used.
+                    if (space == null || space.getComments().isEmpty() || isPrefix(space)) {
+                        return super.visitSpace(space, loc, p);
+                    }
+                    List<String> todos = javaTodos(space);
+                    if (todos != null) {
+                        visitor.visit(new TodoComment(enclosingElement(getCursor()), todos), p);
+                    }
+                    return super.visitSpace(space, loc, p);
+                }
+
+                private boolean isPrefix(Space space) {
+                    Object value = getCursor().getValue();
+                    return value instanceof J && ((J) value).getPrefix() == space;
+                }
+            };
+            YamlVisitor<P> yamlVisitor = new YamlVisitor<P>() {
+                @Override
+                public @Nullable Yaml preVisit(Yaml tree, P p) {
+                    if (tree.getPrefix().indexOf('#') < 0) {
+                        return tree;
+                    }
+                    List<String> todos = addYamlTodos(null, tree.getPrefix());
+                    return todos == null ? tree : (Yaml) visitor.visit(new TodoComment(getCursor(), todos), p);
+                }
+            };
+            XmlVisitor<P> xmlVisitor = new XmlVisitor<P>() {
+                @Override
+                public Xml visitProlog(Xml.Prolog prolog, P p) {
+                    List<String> todos = xmlTodos(prolog.getMisc());
+                    Xml x = todos == null ? prolog : (Xml) visitor.visit(new TodoComment(getCursor(), todos), p);
+                    return x instanceof Xml.Prolog ? super.visitProlog((Xml.Prolog) x, p) : x;
+                }
+
+                @Override
+                public Xml visitTag(Xml.Tag tag, P p) {
+                    List<String> todos = xmlTodos(tag.getContent());
+                    Xml x = todos == null ? tag : (Xml) visitor.visit(new TodoComment(getCursor(), todos), p);
+                    return x instanceof Xml.Tag ? super.visitTag((Xml.Tag) x, p) : x;
+                }
+            };
+            return new TreeVisitor<Tree, P>() {
+                @Override
+                public @Nullable Tree visit(@Nullable Tree tree, P p) {
+                    if (tree instanceof J) {
+                        return javaVisitor.visit(tree, p, getCursor());
+                    } else if (tree instanceof Yaml) {
+                        return yamlVisitor.visit(tree, p, getCursor());
+                    } else if (tree instanceof Xml) {
+                        return xmlVisitor.visit(tree, p, getCursor());
+                    }
+                    return tree;
+                }
+            };
+        }
+
         @Override
         protected @Nullable TodoComment test(Cursor cursor) {
             Object v = cursor.getValue();
-            if (!(v instanceof J) && !(v instanceof Yaml) && !(v instanceof Xml)) {
-                return null;
-            }
-            List<String> todos = new ArrayList<>();
+            List<String> todos = null;
             if (v instanceof J) {
-
+                todos = javaTodos(((J) v).getPrefix());
             } else if (v instanceof Yaml) {
+                todos = addYamlTodos(null, ((Yaml) v).getPrefix());
+            } else if (v instanceof Xml.Prolog) {
+                todos = xmlTodos(((Xml.Prolog) v).getMisc());
+            } else if (v instanceof Xml.Tag) {
+                todos = xmlTodos(((Xml.Tag) v).getContent());
+            }
+            return todos == null ? null : new TodoComment(cursor, todos);
+        }
+    }
 
-            } else if (v instanceof Xml) {
+    /**
+     * The cursor of the element a space is in, skipping the padding and containers around elements, which are not
+     * trees of their own.
+     */
+    public static Cursor enclosingElement(Cursor cursor) {
+        for (Cursor c = cursor; c != null; c = c.getParent()) {
+            if (c.getValue() instanceof J) {
+                return c;
+            }
+        }
+        throw new IllegalStateException("Expected a Java element on the cursor path");
+    }
 
+    /**
+     * Only allocate the list once a TODO is found, as this is called for a great many elements.
+     */
+    static @Nullable List<String> javaTodos(Space space) {
+        List<String> todos = null;
+        for (Comment comment : space.getComments()) {
+            if (comment instanceof TextComment) {
+                String text = ((TextComment) comment).getText();
+                todos = addIfTodo(todos, text, 0, text.length());
             }
-            if (todos.isEmpty()) {
-                return null;
+        }
+        return todos;
+    }
+
+    static @Nullable List<String> xmlTodos(@Nullable List<? extends Xml> xmls) {
+        List<String> todos = null;
+        if (xmls != null) {
+            for (Xml xml : xmls) {
+                todos = addXmlTodo(todos, xml);
+            }
+        }
+        return todos;
+    }
+
+    static @Nullable List<String> addXmlTodo(@Nullable List<String> todos, Xml xml) {
+        if (xml instanceof Xml.Comment) {
+            String text = ((Xml.Comment) xml).getText();
+            return addIfTodo(todos, text, 0, text.length());
+        }
+        return todos;
+    }
+
+    /**
+     * A YAML prefix is the raw text between two nodes, so it holds every comment line, each starting with {@code #}.
+     */
+    static @Nullable List<String> addYamlTodos(@Nullable List<String> todos, String prefix) {
+        for (int hash = prefix.indexOf('#'); hash >= 0; hash = prefix.indexOf('#', hash + 1)) {
+            int end = prefix.indexOf('\n', hash);
+            if (end < 0) {
+                end = prefix.length();
+            }
+            todos = addIfTodo(todos, prefix, hash + 1, end);
+            hash = end;
+        }
+        return todos;
+    }
+
+    /**
+     * Add the trimmed text between {@code from} and {@code to} if it contains TODO. Only a match allocates.
+     */
+    static @Nullable List<String> addIfTodo(@Nullable List<String> todos, String text, int from, int to) {
+        if (indexOfTodo(text, from, to) < 0) {
+            return todos;
+        }
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        if (todos == null) {
+            todos = new ArrayList<>(2);
+        }
+        todos.add(text.substring(from, to));
+        return todos;
+    }
+
+    /**
+     * Find the word TODO in any case between {@code from} and {@code to}, without allocating. The plural, as in
+     * "TODOs:", counts too. A word boundary is required on both sides, so that e.g. "mastodon" does not match.
+     *
+     * @return the index of the T, or -1 if there is no TODO
+     */
+    public static int indexOfTodo(CharSequence text, int from, int to) {
+        for (int i = from; i + 4 <= to; i++) {
+            // Setting 0x20 turns an ASCII upper case letter into lower case, and no other character into these letters
+            if ((text.charAt(i) | 0x20) == 't' &&
+                (text.charAt(i + 1) | 0x20) == 'o' &&
+                (text.charAt(i + 2) | 0x20) == 'd' &&
+                (text.charAt(i + 3) | 0x20) == 'o' &&
+                (i == from || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                int end = i + 4 < to && (text.charAt(i + 4) | 0x20) == 's' ? i + 5 : i + 4;
+                if (end == to || !Character.isLetterOrDigit(text.charAt(end))) {
+                    return i;
+                }
             }
-            return new TodoComment(cursor, todos);
         }
+        return -1;
     }
 }
@@ -15,19 +15,31 @@
  */
 package com.yourorg;
 
+import com.yourorg.table.ClassHierarchyClosureReport;
 import com.yourorg.table.ClassHierarchyReport;
 import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.openrewrite.java.Assertions.java;
 
 class ClassHierarchyTest implements RewriteTest {
 
     @Override
     public void defaults(RecipeSpec spec) {
-        spec.recipe(new ClassHierarchy());
+        spec.recipe(new ClassHierarchy(null));
     }
 
     @Test
@@ -85,4 +97,171 @@ class ClassHierarchyTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void interfaceExtendsInterface() {
+        rewriteRun(
+          spec -> spec.dataTable(ClassHierarchyReport.Row.class, rows -> {
+              assertThat(rows).containsExactly(
+                new ClassHierarchyReport.Row("B", ClassHierarchyReport.Relationship.EXTENDS, "A"));
+          }),
+          //language=java
+          java(
+            """
+              interface A {}
+              """
+          ),
+          //language=java
+          java(
+            """
+              interface B extends A {}
+              """
+          )
+        );
+    }
+
+    @Test
+    void anonymousClass() {
+        rewriteRun(
+          spec -> spec.dataTable(ClassHierarchyReport.Row.class, rows -> {
+              assertThat(rows).contains(new ClassHierarchyReport.Row("A", ClassHierarchyReport.Relationship.EXTENDS, "java.lang.Object"));
+              assertThat(rows).anySatisfy(row -> {
+                  assertThat(row.getClassName()).startsWith("A$");
+                  assertThat(row.getRelationship()).isEqualTo(ClassHierarchyReport.Relationship.IMPLEMENTS);
+                  assertThat(row.getSuperClassName()).isEqualTo("java.lang.Runnable");
+              });
+          }),
+          //language=java
+          java(
+            """
+              class A {
+                  Runnable r = new Runnable() {
+                      @Override
+                      public void run() {
+                      }
+                  };
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void typeParameterBound() {
+        rewriteRun(
+          spec -> spec.dataTable(ClassHierarchyReport.Row.class, rows -> {
+              assertThat(rows).containsExactly(
+                new ClassHierarchyReport.Row("A", ClassHierarchyReport.Relationship.EXTENDS, "java.lang.Object"),
+                new ClassHierarchyReport.Row("A", ClassHierarchyReport.Relationship.TYPE_PARAMETER_BOUND, "java.lang.Number"));
+          }),
+          //language=java
+          java(
+            """
+              class A<T extends Number> {}
+              """
+          )
+        );
+    }
+
+    @Test
+    void typeDeclarationsOnly() {
+        // Anonymous classes and local classes in methods and initializers are skipped along with the code around them
+        rewriteRun(
+          spec -> spec.recipe(new ClassHierarchy(true))
+            .dataTable(ClassHierarchyReport.Row.class, rows -> {
+                assertThat(rows).containsExactly(
+                  new ClassHierarchyReport.Row("A", ClassHierarchyReport.Relationship.EXTENDS, "java.lang.Object"),
+                  new ClassHierarchyReport.Row("A$B", ClassHierarchyReport.Relationship.EXTENDS, "A"),
+                  new ClassHierarchyReport.Row("A$B$C", ClassHierarchyReport.Relationship.EXTENDS, "java.lang.Object"));
+            }),
+          //language=java
+          java(
+            """
+              class A {
+                  Runnable r = new Runnable() {
+                      @Override
+                      public void run() {
+                      }
+                  };
+
+                  {
+                      class InInitializer extends A {}
+                  }
+
+                  void method() {
+                      class InMethod implements Runnable {
+                          @Override
+                          public void run() {
+                          }
+                      }
+                  }
+
+                  static class B extends A {
+                      class C {}
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void transitiveAncestors() {
+        rewriteRun(
+          spec -> spec.dataTable(ClassHierarchyClosureReport.Row.class, rows -> {
+              assertThat(rows).containsExactlyInAnyOrder(
+                new ClassHierarchyClosureReport.Row("A", "java.lang.Object", 1),
+                new ClassHierarchyClosureReport.Row("B", "A", 1),
+                new ClassHierarchyClosureReport.Row("B", "java.lang.Object", 2),
+                new ClassHierarchyClosureReport.Row("C", "B", 1),
+                new ClassHierarchyClosureReport.Row("C", "A", 2),
+                new ClassHierarchyClosureReport.Row("C", "java.lang.Object", 3));
+          }),
+          //language=java
+          java(
+            """
+              class A {}
+              """
+          ),
+          //language=java
+          java(
+            """
+              class B extends A {}
+              """
+          ),
+          //language=java
+          java(
+            """
+              class C extends B {}
+              """
+          )
+        );
+    }
+
+    @Test
+    void sameClassNameInTwoSourceSets() {
+        // Parsed separately, as two source sets are, so that each declaration of Shared has its own supertypes
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to run the recipe", t));
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        JavaParser.fromJavaVersion().build()
+          .parse(ctx, "class Base {}", "class Shared extends Base {}")
+          .forEach(sourceFiles::add);
+        JavaParser.fromJavaVersion().build()
+          .parse(ctx, "class Shared implements Runnable { public void run() {} }")
+          .map(it -> (SourceFile) it.withSourcePath(Paths.get("src/test/java/Shared.java")))
+          .forEach(sourceFiles::add);
+
+        RecipeRun run = new ClassHierarchy(null).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        List<ClassHierarchyReport.Row> rows = run.getDataTableRows(ClassHierarchyReport.class.getName());
+        assertThat(rows).containsExactlyInAnyOrder(
+          new ClassHierarchyReport.Row("Base", ClassHierarchyReport.Relationship.EXTENDS, "java.lang.Object"),
+          new ClassHierarchyReport.Row("Shared", ClassHierarchyReport.Relationship.EXTENDS, "Base"),
+          new ClassHierarchyReport.Row("Shared", ClassHierarchyReport.Relationship.EXTENDS, "java.lang.Object"),
+          new ClassHierarchyReport.Row("Shared", ClassHierarchyReport.Relationship.IMPLEMENTS, "java.lang.Runnable"));
+        List<ClassHierarchyClosureReport.Row> closure = run.getDataTableRows(ClassHierarchyClosureReport.class.getName());
+        assertThat(closure).contains(
+          new ClassHierarchyClosureReport.Row("Shared", "Base", 1),
+          new ClassHierarchyClosureReport.Row("Shared", "java.lang.Runnable", 1));
+    }
 }
@@ -22,15 +22,35 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.List;
+
 import static org.openrewrite.java.Assertions.java;
 
 
 @SuppressWarnings({"NullableProblems", "WriteOnlyObject", "ResultOfMethodCallIgnored", "DataFlowIssue"})
 class NoCollectionMutationTest implements RewriteTest {
 
+    /**
+     * An LST element with collections of other types than {@code List}.
+     */
+    //language=java
+    private static final String NODE = """
+      import org.openrewrite.Tree;
+
+      import java.util.Deque;
+      import java.util.Map;
+      import java.util.Set;
+
+      interface Node extends Tree {
+          Set<String> getTags();
+          Map<String, String> getIndex();
+          Deque<String> getQueue();
+      }
+      """;
+
     @Override
     public void defaults(RecipeSpec spec) {
-        spec.recipe(new NoCollectionMutation()).parser(JavaParser.fromJavaVersion().classpath("rewrite-core", "rewrite-java"));
+        spec.recipe(new NoCollectionMutation(null, null)).parser(JavaParser.fromJavaVersion().classpath("rewrite-core", "rewrite-java"));
     }
 
     @DocumentExample
@@ -223,4 +243,204 @@ class NoCollectionMutationTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void setMutation() {
+        rewriteRun(
+          java(NODE),
+          //language=java
+          java(
+            """
+              class Tagger {
+                  void tag(Node node) {
+                      node.getTags().add("tagged");
+                  }
+              }
+              """,
+            """
+              import java.util.LinkedHashSet;
+
+              class Tagger {
+                  void tag(Node node) {
+                      new LinkedHashSet<>(node.getTags()).add("tagged");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void mapMutation() {
+        rewriteRun(
+          java(NODE),
+          //language=java
+          java(
+            """
+              import java.util.Map;
+
+              class Indexer {
+                  void index(Node node) {
+                      Map<String, String> index = node.getIndex();
+                      index.put("key", "value");
+                  }
+              }
+              """,
+            """
+              import java.util.LinkedHashMap;
+              import java.util.Map;
+
+              class Indexer {
+                  void index(Node node) {
+                      Map<String, String> index = new LinkedHashMap<>(node.getIndex());
+                      index.put("key", "value");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void mutationThroughIterator() {
+        rewriteRun(
+          java(NODE),
+          //language=java
+          java(
+            """
+              import java.util.Iterator;
+
+              class Pruner {
+                  void prune(Node node) {
+                      Iterator<String> it = node.getTags().iterator();
+                      while (it.hasNext()) {
+                          if (it.next().isEmpty()) {
+                              it.remove();
+                          }
+                      }
+                  }
+              }
+              """,
+            """
+              import java.util.Iterator;
+              import java.util.LinkedHashSet;
+
+              class Pruner {
+                  void prune(Node node) {
+                      Iterator<String> it = new LinkedHashSet<>(node.getTags()).iterator();
+                      while (it.hasNext()) {
+                          if (it.next().isEmpty()) {
+                              it.remove();
+                          }
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void readingThroughViewIsOkay() {
+        rewriteRun(
+          java(NODE),
+          //language=java
+          java(
+            """
+              class Reader {
+                  int count(Node node) {
+                      int count = 0;
+                      for (String key : node.getIndex().keySet()) {
+                          count += key.length();
+                      }
+                      return count;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void noCopyOfCollectionTypeWithoutOne() {
+        // There is no defensive copy that is a Deque, so wrapping the call would not compile
+        rewriteRun(
+          java(NODE),
+          //language=java
+          java(
+            """
+              import java.util.Deque;
+
+              class Dequeuer {
+                  void dequeue(Node node) {
+                      Deque<String> queue = node.getQueue();
+                      queue.add("next");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void configuredMutatingMethods() {
+        // Only the configured methods count as mutations, so clearing the tags is left alone
+        rewriteRun(
+          spec -> spec.recipe(new NoCollectionMutation(List.of("java.util.Set add"), null)),
+          java(NODE),
+          //language=java
+          java(
+            """
+              class Tagger {
+                  void tag(Node node) {
+                      node.getTags().add("new");
+                  }
+
+                  void untag(Node node) {
+                      node.getTags().clear();
+                  }
+              }
+              """,
+            """
+              import java.util.LinkedHashSet;
+
+              class Tagger {
+                  void tag(Node node) {
+                      new LinkedHashSet<>(node.getTags()).add("new");
+                  }
+
+                  void untag(Node node) {
+                      node.getTags().clear();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void noViewMethods() {
+        // Without view methods, a mutation through an iterator is not followed back to the collection
+        rewriteRun(
+          spec -> spec.recipe(new NoCollectionMutation(null, List.of())),
+          java(NODE),
+          //language=java
+          java(
+            """
+              import java.util.Iterator;
+
+              class Pruner {
+                  void prune(Node node) {
+                      Iterator<String> it = node.getTags().iterator();
+                      while (it.hasNext()) {
+                          if (it.next().isEmpty()) {
+                              it.remove();
+                          }
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -17,10 +17,18 @@ package com.yourorg;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 // This is a test for the NoGuavaListsNewArrayList recipe, as an example of how to write a test for an imperative recipe.
@@ -177,4 +185,37 @@ class NoGuavaListsNewArrayListTest implements RewriteTest {
           )
         );
     }
+
+    // Printing the tree is opt-in, by registering a sink for it on the execution context
+    @Test
+    void printTreeWhenRequested() {
+        Map<Path, String> printed = new HashMap<>();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        ctx.putMessage(NoGuavaListsNewArrayList.PRINT_TREE, (BiConsumer<Path, String>) printed::put);
+        rewriteRun(
+          spec -> spec.executionContext(ctx),
+          //language=java
+          java(
+            """
+              import com.google.common.collect.*;
+
+              import java.util.List;
+
+              class Test {
+                  List<Integer> cardinalsWorldSeries = Lists.newArrayList();
+              }
+              """,
+            """
+              import java.util.ArrayList;
+              import java.util.List;
+
+              class Test {
+                  List<Integer> cardinalsWorldSeries = new ArrayList<>();
+              }
+              """
+          )
+        );
+        assertThat(printed).containsKey(Path.of("Test.java"));
+        assertThat(printed.get(Path.of("Test.java"))).contains("MethodInvocation");
+    }
 }
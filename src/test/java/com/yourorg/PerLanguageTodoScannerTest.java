@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerLanguageTodoScannerTest {
+
+    @Test
+    void fullQueueWaitsForTheWorkersOfTheLanguage() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx,
+          "class A { /* TODO: a */ }",
+          "class B { /* TODO: b */ }",
+          "class C { /* TODO: c */ }",
+          "class D { /* TODO: d */ }"
+        ).collect(toList());
+
+        // With a single worker and room for a single file in the queue, submitting waits for the worker to take the
+        // next file, and never extracts it on this thread
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        TodoCollector collector = new TodoCollector() {
+            @Override
+            void extract(SourceFile sourceFile, ExecutionContext ctx) {
+                threads.add(Thread.currentThread().getName());
+                super.extract(sourceFile, ctx);
+            }
+        };
+        PerLanguageTodoScanner scanner = new PerLanguageTodoScanner(collector, 1, 1);
+        for (SourceFile sourceFile : sourceFiles) {
+            scanner.submit("java", sourceFile, ctx);
+        }
+        scanner.await();
+        assertThat(threads).containsExactly("todos-java-1");
+
+        // A later cycle submits the same files again, which are skipped
+        for (SourceFile sourceFile : sourceFiles) {
+            scanner.submit("java", sourceFile, ctx);
+        }
+        scanner.await();
+
+        List<String> todos = new ArrayList<>();
+        collector.drain(ctx, todo -> todos.add(todo.getSourcePath() + ": " + todo.getText()));
+        assertThat(todos).containsExactly(
+          "A.java: TODO: a",
+          "B.java: TODO: b",
+          "C.java: TODO: c",
+          "D.java: TODO: d");
+    }
+}
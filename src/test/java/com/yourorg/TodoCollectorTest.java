@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoCollectorTest {
+
+    @Test
+    void spilledTodosAreMergedInSourcePathOrder(@TempDir Path spillDirectory) throws IOException {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx,
+          //language=java
+          """
+            class B {
+                // TODO: b1
+                void b() {
+                    // TODO: b2
+                    // TODO: b3
+                }
+            }
+            """,
+          //language=java
+          """
+            class A {
+                // TODO: a1
+                // TODO: a2
+                // TODO: b1
+            }
+            """
+        ).collect(toList());
+
+        // A threshold of 2 spills mid-file, so the TODOs of each file end up split over runs and the buffer
+        TodoCollector collector = new TodoCollector(2, spillDirectory);
+        for (SourceFile sourceFile : sourceFiles) {
+            collector.scan(sourceFile, ctx);
+        }
+        // Scanning a file again, as in a later cycle, doesn't add its TODOs twice
+        collector.scan(sourceFiles.get(0), ctx);
+
+        assertThat(Files.list(spillDirectory)).isNotEmpty();
+
+        List<String> todos = new ArrayList<>();
+        collector.drain(ctx, todo -> todos.add(todo.getSourcePath() + ": " + todo.getText()));
+        assertThat(todos).containsExactly(
+          "A.java: TODO: a1",
+          "A.java: TODO: a2",
+          "A.java: TODO: b1",
+          "B.java: TODO: b1",
+          "B.java: TODO: b2",
+          "B.java: TODO: b3");
+
+        // Every TODO is drained once, and the spilled files are gone once they have been read
+        assertThat(Files.list(spillDirectory)).isEmpty();
+        collector.drain(ctx, todo -> todos.add("again: " + todo.getText()));
+        assertThat(todos).hasSize(6);
+    }
+}
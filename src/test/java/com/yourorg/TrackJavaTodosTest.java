@@ -16,7 +16,6 @@
 package com.yourorg;
 
 import com.yourorg.table.TodoCommentsReport;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.test.RecipeSpec;
@@ -31,7 +30,6 @@ class TrackJavaTodosTest implements RewriteTest {
         spec.recipe(new TrackJavaTodos());
     }
 
-    @Disabled
     @DocumentExample
     @Test
     void findTodos() {
@@ -59,4 +57,26 @@ class TrackJavaTodosTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void todosOutsideOfPrefixes() {
+        // Comments before the closing brace of a block or at the end of the file are in no element's prefix
+        rewriteRun(
+          spec -> spec.dataTable(TodoCommentsReport.Row.class, rows ->
+            assertThat(rows).containsExactly(
+                new TodoCommentsReport.Row("A.java", "TODO: implement", "class org.openrewrite.java.tree.J$Block"),
+                new TodoCommentsReport.Row("A.java", "TODO: Clean up", "class org.openrewrite.java.tree.J$CompilationUnit"))),
+          //language=java
+          java(
+            """
+              class A {
+                  void foo() {
+                    // TODO: implement
+                  }
+              }
+              // TODO: Clean up
+              """
+          )
+        );
+    }
 }
@@ -1,7 +1,6 @@
 package com.yourorg;
 
 import com.yourorg.table.TodoCommentsReport;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.test.RecipeSpec;
@@ -19,11 +18,10 @@ import static org.openrewrite.yaml.Assertions.yaml;
 class TrackTodosTest implements RewriteTest {
     @Override
     public void defaults(RecipeSpec spec) {
-        spec.recipe(new TrackTodos("## Test Header"))
+        spec.recipe(new TrackTodos("## Test Header", null))
           .allSources(SourceSpec::noTrim);
     }
 
-    @Disabled
     @DocumentExample
     @Test
     void createNewTodoFileJava() {
@@ -66,7 +64,6 @@ class TrackTodosTest implements RewriteTest {
         );
     }
 
-    @Disabled
     @Test
     void editExistingTodoFileJava() {
         // When the file does already exist, we assert the content is modified as expected.
@@ -107,7 +104,6 @@ class TrackTodosTest implements RewriteTest {
         );
     }
 
-    @Disabled
     @Test
     void createNewTodoFileYAML() {
         // Notice how the before text is doesNotExist(), indicating that the file does not exist yet.
@@ -147,7 +143,6 @@ class TrackTodosTest implements RewriteTest {
         );
     }
 
-    @Disabled
     @Test
     void editExistingTodoFileYAML() {
         // When the file does already exist, we assert the content is modified as expected.
@@ -186,7 +181,6 @@ class TrackTodosTest implements RewriteTest {
         );
     }
 
-    @Disabled
     @Test
     void createNewTodoFileXML() {
         // Notice how the before text is doesNotExist(), indicating that the file does not exist yet.
@@ -226,7 +220,6 @@ class TrackTodosTest implements RewriteTest {
         );
     }
 
-    @Disabled
     @Test
     void editExistingTodoFileXML() {
         // When the file does already exist, we assert the content is modified as expected.
@@ -264,4 +257,251 @@ class TrackTodosTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void updateExistingTodoFileIncrementally() {
+        // Entries that are still found keep their place, stale ones are removed and new ones appended
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class A {
+                  // TODO: Have fun
+                  /* TODO: Test your code */
+                  public String foo() {
+                    // TODO: Learn
+                    return "bar";
+                  }
+              }
+              """
+          ),
+          //language=markdown
+          text(
+            """
+              ## Test Header
+              TODO: Learn
+              TODO: Done already
+
+              TODO: Have fun
+              """,
+            """
+              ## Test Header
+              TODO: Learn
+
+              TODO: Have fun
+              TODO: Test your code
+              """,
+            spec -> spec.path(Path.of("TODO.md")
+            )
+          )
+        );
+    }
+
+    @Test
+    void leaveUpToDateTodoFileUnchanged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class A {
+                  // TODO: Have fun
+                  // TODO: Learn
+              }
+              """
+          ),
+          //language=markdown
+          text(
+            """
+              ## Test Header
+              TODO: Learn
+              TODO: Have fun
+              """,
+            spec -> spec.path(Path.of("TODO.md")
+            )
+          )
+        );
+    }
+
+    @Test
+    void extractPerLanguageInParallel() {
+        // The rows and TODO.md come out in source path order, whichever worker finished first
+        rewriteRun(
+          spec -> spec.recipe(new TrackTodos("## Test Header", true))
+            .dataTable(TodoCommentsReport.Row.class, rows -> {
+                assertThat(rows).containsExactly(
+                  new TodoCommentsReport.Row("A.java", "TODO: Have fun", "class org.openrewrite.java.tree.J$MethodDeclaration"),
+                  new TodoCommentsReport.Row("file.xml", "TODO: Learn", "class org.openrewrite.xml.tree.Xml$Prolog"),
+                  new TodoCommentsReport.Row("file.yaml", "TODO: Test your code", "class org.openrewrite.yaml.tree.Yaml$Document"));
+            }),
+          //language=java
+          java(
+            """
+              class A {
+                  // TODO: Have fun
+                  void foo() {
+                  }
+              }
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              # TODO: Test your code
+              someyaml: "here"
+              """
+          ),
+          //language=xml
+          xml(
+            """
+              <!-- TODO: Learn -->
+              <xml/>
+              """
+          ),
+          //language=markdown
+          text(
+            doesNotExist(),
+            """
+              ## Test Header
+              TODO: Have fun
+              TODO: Learn
+              TODO: Test your code
+              """,
+            spec -> spec.path(Path.of("TODO.md")
+            )
+          )
+        );
+    }
+
+    @Test
+    void todosOutsideOfPrefixes() {
+        // The same TODOs as TrackJavaTodos finds for comments that are in no element's prefix
+        rewriteRun(
+          spec -> spec.dataTable(TodoCommentsReport.Row.class, rows -> {
+              assertThat(rows).containsExactly(
+                new TodoCommentsReport.Row("A.java", "TODO: implement", "class org.openrewrite.java.tree.J$Block"),
+                new TodoCommentsReport.Row("A.java", "TODO: Clean up", "class org.openrewrite.java.tree.J$CompilationUnit"));
+          }),
+          //language=java
+          java(
+            """
+              class A {
+                  void foo() {
+                    // TODO: implement
+                  }
+              }
+              // TODO: Clean up
+              """
+          ),
+          //language=markdown
+          text(
+            doesNotExist(),
+            """
+              ## Test Header
+              TODO: implement
+              TODO: Clean up
+              """,
+            spec -> spec.path(Path.of("TODO.md")
+            )
+          )
+        );
+    }
+
+    @Test
+    void multiLineTodo() {
+        // A TODO spanning several lines is a single entry, which is then recognized as up to date in the next cycle
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class A {
+                  /* TODO: Split this class
+                   *  into smaller ones */
+                  void foo() {
+                  }
+              }
+              """
+          ),
+          //language=markdown
+          text(
+            """
+              ## Test Header
+              """,
+            """
+              ## Test Header
+              TODO: Split this class into smaller ones
+              """,
+            spec -> spec.path(Path.of("TODO.md")
+            )
+          )
+        );
+    }
+
+    @Test
+    void crlfLineEndings() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class A {
+                  // TODO: Have fun
+                  // TODO: Learn
+              }
+              """
+          ),
+          //language=markdown
+          text(
+            "## Test Header\r\nTODO: Learn\r\nTODO: Done already\r\n",
+            "## Test Header\r\nTODO: Learn\r\nTODO: Have fun\r\n",
+            spec -> spec.path(Path.of("TODO.md")
+            )
+          )
+        );
+    }
+
+    @Test
+    void upToDateCrlfTodoFileIsUnchanged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class A {
+                  // TODO: Learn
+              }
+              """
+          ),
+          //language=markdown
+          text(
+            "## Test Header\r\nTODO: Learn\r\n",
+            spec -> spec.path(Path.of("TODO.md")
+            )
+          )
+        );
+    }
+
+    @Test
+    void removeEntriesWhenNoTodosAreLeft() {
+        // Once the last TODO is resolved, its entry is removed like any other stale one
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class A {
+                  // Just a regular comment
+              }
+              """
+          ),
+          //language=markdown
+          text(
+            """
+              ## Test Header
+              TODO: Learn
+              TODO: Done already
+              """,
+            """
+              ## Test Header
+              """,
+            spec -> spec.path(Path.of("TODO.md"))
+          )
+        );
+    }
 }
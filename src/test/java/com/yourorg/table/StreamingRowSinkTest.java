@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.table;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingRowSinkTest {
+
+    @Test
+    void writesAllRowsInOrder(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("table.rwcol");
+        ColumnarTableWriter writer = new ColumnarTableWriter(file,
+                new String[]{"sourcePath", "line"},
+                new ColumnarTableWriter.ColumnType[]{ColumnarTableWriter.ColumnType.STRING, ColumnarTableWriter.ColumnType.LONG});
+        // Many more rows than fit in the queue, so that adding rows has to wait for the writer
+        try (StreamingRowSink sink = new StreamingRowSink(writer, 16, 2)) {
+            for (int i = 0; i < 10_000; i++) {
+                sink.accept(new Object[]{"File" + (i % 7) + ".java", i});
+            }
+        }
+
+        try (ColumnarTableReader reader = new ColumnarTableReader(file)) {
+            int i = 0;
+            for (Object[] row = reader.read(); row != null; row = reader.read()) {
+                assertThat(row).containsExactly("File" + (i % 7) + ".java", (long) i);
+                i++;
+            }
+            assertThat(i).isEqualTo(10_000);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yourorg.trait;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoCommentTest {
+
+    @Test
+    void todoWord() {
+        assertThat(TodoComment.indexOfTodo("TODO", 0, 4)).isEqualTo(0);
+        assertThat(TodoComment.indexOfTodo("// todo: lower case", 0, 19)).isEqualTo(3);
+        assertThat(TodoComment.indexOfTodo("Fix this, ToDo later", 0, 20)).isEqualTo(10);
+        assertThat(TodoComment.indexOfTodo("TODOs: a plural", 0, 15)).isEqualTo(0);
+        assertThat(TodoComment.indexOfTodo("(TODO)", 0, 6)).isEqualTo(1);
+    }
+
+    @Test
+    void noTodoWord() {
+        assertThat(TodoComment.indexOfTodo("a mastodon", 0, 10)).isEqualTo(-1);
+        assertThat(TodoComment.indexOfTodo("TODOLIST", 0, 8)).isEqualTo(-1);
+        assertThat(TodoComment.indexOfTodo("TODOSX", 0, 6)).isEqualTo(-1);
+        assertThat(TodoComment.indexOfTodo("TOD", 0, 3)).isEqualTo(-1);
+        assertThat(TodoComment.indexOfTodo("", 0, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void onlyWithinRange() {
+        // The range bounds the word as much as the ends of the text do
+        assertThat(TodoComment.indexOfTodo("xTODOx", 1, 5)).isEqualTo(1);
+        assertThat(TodoComment.indexOfTodo("TODO here", 1, 9)).isEqualTo(-1);
+    }
+
+    @Test
+    void todosOutsideOfPrefixes() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        SourceFile sourceFile = JavaParser.fromJavaVersion().build().parse(ctx,
+          //language=java
+          """
+            class A {
+                // TODO: prefix
+                void empty() {
+                    // TODO: implement
+                }
+
+                void call() {
+                    foo(1 /* TODO: after an argument */, 2);
+                }
+
+                void foo(int a, int b) {
+                }
+            }
+            // TODO: end of file
+            """
+        ).findFirst().orElseThrow();
+
+        List<String> todos = new ArrayList<>();
+        new TodoComment.Matcher().<List<String>>asVisitor((todo, found) -> {
+            for (String text : todo.getTodos()) {
+                found.add(todo.getTree().getClass().getSimpleName() + ": " + text);
+            }
+            return todo.getTree();
+        }).visit(sourceFile, todos);
+
+        assertThat(todos).containsExactly(
+          "MethodDeclaration: TODO: prefix",
+          "Block: TODO: implement",
+          "MethodInvocation: TODO: after an argument",
+          "CompilationUnit: TODO: end of file");
+    }
+}